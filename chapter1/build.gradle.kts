@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -21,24 +22,67 @@ dependencyManagement {
     }
 }
 
+// /point API 부하 테스트 소스 (src/loadtest/java)
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation(libs.spring.boot.starter.web)
     implementation(libs.spring.boot.starter.aop)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.caffeine)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     testCompileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     testAnnotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    jmh(libs.jol.core)
+    "loadtestImplementation"(libs.hdrhistogram)
 }
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+// 결과는 build/results/jmh/results.json 에 남는다. 커밋 간 비교는 이 파일을 보관해 두고 비교한다.
+// 일부만 실행하거나 스레드 수를 바꿀 때: ./gradlew jmh -Pjmh.includes=PointServiceBenchmark -Pjmh.threads=32
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    profilers.add("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+    findProperty("jmh.threads")?.let { threads = it.toString().toInt() }
+}
+
+// 이력 저장 방식별 메모리 사용량 비교 (./gradlew historyFootprint)
+tasks.register<JavaExec>("historyFootprint") {
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "io.hhplus.tdd.database.PointHistoryFootprint"
+    jvmArgs("-Xmx4g", "-Djdk.attach.allowAttachSelf=true", "-XX:+EnableDynamicAgentLoading")
+}
+
+// 애플리케이션을 임의 포트로 띄워 부하를 건다 (./gradlew loadTest -PloadTest.args="rate=2000 duration=60s zipf=1.1")
+tasks.register<JavaExec>("loadTest") {
+    group = "benchmark"
+    classpath = loadtest.runtimeClasspath
+    mainClass = "io.hhplus.tdd.loadtest.PointLoadTest"
+    args(findProperty("loadTest.args")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList<String>())
+    jvmArgs("-Xmx2g")
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
 }
 
 // bundling tasks
@@ -52,4 +96,5 @@ tasks.getByName("jar") {
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
+    jvmArgs("-Djdk.tracePinnedThreads=short")
 }
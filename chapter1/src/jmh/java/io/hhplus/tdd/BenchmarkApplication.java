@@ -0,0 +1,36 @@
+package io.hhplus.tdd;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크에서 웹 서버 없이 애플리케이션 컨텍스트를 띄운다.
+ * 저장소는 지연 없는 simulated 백엔드를 사용해, 테이블이 아니라 서비스와 락 구간의 비용을 측정한다.
+ * 저장소 지연을 재현하려면 point.storage.* 설정을 함께 넘긴다.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param properties "key=value" 형식으로 application.yml 설정을 덮어쓴다.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TddApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .properties(
+                "logging.level.root=WARN",
+                "point.storage.backend=simulated",
+                "point.storage.user-point-select.distribution=FIXED",
+                "point.storage.user-point-insert.distribution=FIXED",
+                "point.storage.point-history-insert.distribution=FIXED"
+            )
+            .properties(properties)
+            .run();
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경합이 없을 때 @ConcurrencyControl 이 호출 한 번에 더하는 비용을 측정한다.
+ * - direct : 프록시 없이 메서드를 직접 호출한다.
+ * - proxyWithoutAdvice : 같은 프록시에서 어노테이션이 없는 메서드를 호출한다. 프록시 호출 자체의 비용이다.
+ * - aspect : 어노테이션이 붙은 메서드를 호출한다. key 계산, 락 획득/해제, 메트릭 기록이 더해진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrencyControlAspectBenchmark {
+
+    @Param({"PER_KEY", "STRIPED"})
+    private String lockMode;
+
+    @Param({"1", "1000000"})
+    private int users;
+
+    private Target target;
+    private Target proxy;
+    private MailboxExecutor mailboxExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConcurrencyControlProperties properties = new ConcurrencyControlProperties(
+            LockMode.valueOf(lockMode), 1024, 8, -1, 0
+        );
+        mailboxExecutor = new MailboxExecutor(properties);
+        target = new Target();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ConcurrencyControlAspect(
+            new KeyedLockRegistry(), mailboxExecutor, properties, new SimpleMeterRegistry()
+        ));
+        proxy = proxyFactory.getProxy();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mailboxExecutor.destroy();
+    }
+
+    @Benchmark
+    public long direct() {
+        return target.controlled(randomUser());
+    }
+
+    @Benchmark
+    public long proxyWithoutAdvice() {
+        return proxy.plain(randomUser());
+    }
+
+    @Benchmark
+    public long aspect() {
+        return proxy.controlled(randomUser());
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(users);
+    }
+
+    public static class Target {
+
+        public long plain(long id) {
+            return id;
+        }
+
+        @ConcurrencyControl(key = "'userPoint-' + #id", timeout = 10L, timeUnit = TimeUnit.SECONDS)
+        public long controlled(long id) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 의 락 key 표현식을 기준으로
+ * 매 호출마다 파싱하던 기존 방식과 캐시/컴파일된 표현식을 사용하는 방식을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomSpringELParserBenchmark {
+    private static final String KEY = "'userPoint-' + #id";
+    private static final String[] PARAMETER_NAMES = {"id", "amount"};
+
+    private final Object[] args = {1L, 100L};
+
+    @Benchmark
+    public Object parseEveryCall() {
+        SpelExpressionParser parser = new SpelExpressionParser();
+        StandardEvaluationContext context = new StandardEvaluationContext();
+
+        for (int i = 0; i < PARAMETER_NAMES.length; i++) {
+            context.setVariable(PARAMETER_NAMES[i], args[i]);
+        }
+
+        return parser.parseExpression(KEY).getValue(context);
+    }
+
+    @Benchmark
+    public Object cachedExpression() {
+        return CustomSpringELParser.getDynamicValue(PARAMETER_NAMES, args, KEY);
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PER_KEY(참조 카운트 ConcurrentHashMap) 와 STRIPED 락 모드의 처리량과 지연 분포를 비교한다.
+ * - UNIFORM : 전체 사용자에게 고르게 요청이 분산된다.
+ * - SKEWED : 요청의 80% 가 소수의 hot user 에게 몰린다.
+ * 지연 분포(p99, p99.9)는 -bm sample 로 실행하면 확인할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LockModeBenchmark {
+    private static final int KEY_COUNT = 1 << 16;
+    private static final int HOT_USERS = 8;
+
+    @Param({"UNIFORM", "SKEWED"})
+    private String workload;
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"1024"})
+    private int stripes;
+
+    private String[] keys;
+    private KeyedLockRegistry lockRegistry;
+    private StripedLocks stripedLocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            boolean hot = workload.equals("SKEWED") && random.nextInt(100) < 80;
+            long userId = hot ? random.nextInt(HOT_USERS) : random.nextInt(users);
+            keys[i] = "userPoint-" + userId;
+        }
+        lockRegistry = new KeyedLockRegistry();
+        stripedLocks = new StripedLocks(stripes);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = (int) (Thread.currentThread().getId() * 7919);
+
+        int next() {
+            return next++ & (KEY_COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    public void perKey(Cursor cursor) {
+        String key = "LOCK::" + keys[cursor.next()];
+        ReentrantLock lock = lockRegistry.acquire(key);
+        try {
+            criticalSection(lock);
+        } finally {
+            lockRegistry.release(key);
+        }
+    }
+
+    @Benchmark
+    public void striped(Cursor cursor) {
+        criticalSection(stripedLocks.get(keys[cursor.next()]));
+    }
+
+    private void criticalSection(ReentrantLock lock) {
+        lock.lock();
+        try {
+            Blackhole.consumeCPU(64);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
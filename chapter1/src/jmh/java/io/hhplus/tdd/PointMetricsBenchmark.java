@@ -0,0 +1,80 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.UserPointStorage;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * point.metrics.enabled 에 따라 PointMetricsAspect 가 호출 한 번에 더하는 비용을 비교한다.
+ * 레지스트리는 애플리케이션과 같은 Prometheus 레지스트리이며, 타이머는 백분위 히스토그램을 기록한다.
+ * - getPoint : 캐시에 적재된 사용자를 조회한다. 서비스 자체가 가벼워 타이머 비용이 그대로 드러난다.
+ * - charge : 락, 저장소(지연 없음), 이력 기록을 거친다. 서비스 타이머와 저장소 타이머가 함께 기록된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PointMetricsBenchmark {
+    private static final int USERS = 1024;
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "point.metrics.enabled=" + metrics,
+            "concurrency-control.max-queue-depth=-1",
+            "concurrency-control.max-in-flight=0"
+        );
+        UserPointStorage userPointStorage = context.getBean(UserPointStorage.class);
+        pointService = context.getBean(PointService.class);
+        for (long id = 0; id < USERS; id++) {
+            userPointStorage.insertOrUpdate(id, 0L);
+            pointService.getPoint(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint(randomUser());
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return pointService.charge(randomUser(), 1L);
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(USERS);
+    }
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 수가 수백만 명일 때 잔액 맵별 조회/갱신 지연을 비교한다.
+ * - hashMap : UserPointTable 과 같은 HashMap&lt;Long, UserPoint&gt;. 단일 스레드 기준선이다.
+ * - concurrentHashMap : 복구한 잔액과 시뮬레이션 저장소의 잔액을 보관하던 ConcurrentHashMap&lt;Long, UserPoint&gt;
+ * - longBalanceMap : primitive 배열에 보관하는 LongBalanceMap. 복구한 잔액과 SimulatedUserPointStorage 가 사용한다.
+ * <p>
+ * 갱신할 때마다 boxing 한 key 와 UserPoint 를 새로 만드는지가 차이이므로, -prof gc 의 gc.alloc.rate.norm 을 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class LongBalanceMapBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int users;
+
+    private Map<Long, UserPoint> hashMap;
+    private Map<Long, UserPoint> concurrentHashMap;
+    private LongBalanceMap longBalanceMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hashMap = new HashMap<>();
+        concurrentHashMap = new ConcurrentHashMap<>();
+        longBalanceMap = new LongBalanceMap();
+        for (long id = 0; id < users; id++) {
+            UserPoint userPoint = new UserPoint(id, 1000L, id);
+            hashMap.put(id, userPoint);
+            concurrentHashMap.put(id, userPoint);
+            longBalanceMap.put(id, userPoint.point(), userPoint.updateMillis());
+        }
+    }
+
+    @Benchmark
+    public UserPoint hashMapGet() {
+        return hashMap.get(randomId());
+    }
+
+    @Benchmark
+    public UserPoint concurrentHashMapGet() {
+        return concurrentHashMap.get(randomId());
+    }
+
+    @Benchmark
+    public UserPoint longBalanceMapGet() {
+        return longBalanceMap.get(randomId());
+    }
+
+    @Benchmark
+    public UserPoint hashMapUpdate() {
+        long id = randomId();
+        return hashMap.put(id, new UserPoint(id, hashMap.get(id).point() + 1, System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public UserPoint concurrentHashMapUpdate() {
+        return concurrentHashMap.compute(randomId(), (id, current) ->
+            new UserPoint(id, current.point() + 1, System.currentTimeMillis())
+        );
+    }
+
+    @Benchmark
+    public void longBalanceMapUpdate() {
+        longBalanceMap.add(randomId(), 1L, System.currentTimeMillis());
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(users);
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 이력을 저장 방식별로 보관했을 때의 힙 사용량을 JOL 로 측정해 출력한다.
+ * - list : PointHistoryTable 과 같은 ArrayList&lt;PointHistory&gt;
+ * - columnar index : 사용자별로 필드별 primitive 배열을 보관하는 ColumnarPointHistoryIndex
+ * <p>
+ * 실행: ./gradlew historyFootprint
+ */
+public class PointHistoryFootprint {
+    private static final int HISTORIES_PER_USER = 10;
+
+    public static void main(String[] args) {
+        int totalHistories = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int users = totalHistories / HISTORIES_PER_USER;
+
+        List<PointHistory> list = new ArrayList<>(totalHistories);
+        ColumnarPointHistoryIndex columnarIndex = new ColumnarPointHistoryIndex();
+        for (int i = 0; i < totalHistories; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            list.add(new PointHistory(i + 1, i % users, 100L, type, i));
+        }
+        list.forEach(columnarIndex::add);
+
+        System.out.printf("histories: %,d, users: %,d%n", totalHistories, users);
+        print("list", GraphLayout.parseInstance(list).totalSize(), totalHistories);
+        print("columnar index", GraphLayout.parseInstance(columnarIndex).totalSize(), totalHistories);
+    }
+
+    private static void print(String name, long bytes, int histories) {
+        System.out.printf("%-15s %,15d bytes %8.1f bytes/history%n", name, bytes, (double) bytes / histories);
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 이력 수가 늘어날 때 한 사용자의 이력 조회 지연을 비교한다.
+ * 사용자당 이력 수(10건)는 고정하고 사용자 수를 늘려 전체 이력을 최대 1,000만 건까지 키운다.
+ * - tableScan : PointHistoryTable.selectAllByUserId 와 같은 전체 스트림 필터. 전체 이력 수에 비례한다.
+ * - columnar : ColumnarPointHistoryIndex 조회. 사용자의 이력 수에만 비례하므로 전체 이력 수와 무관하게 일정하다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PointHistoryIndexBenchmark {
+    private static final int HISTORIES_PER_USER = 10;
+
+    @Param({"100000", "1000000", "10000000"})
+    private int totalHistories;
+
+    private List<PointHistory> table;
+    private ColumnarPointHistoryIndex columnarIndex;
+    private long probeUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int users = totalHistories / HISTORIES_PER_USER;
+        table = new ArrayList<>(totalHistories);
+        columnarIndex = new ColumnarPointHistoryIndex();
+        for (int i = 0; i < totalHistories; i++) {
+            PointHistory pointHistory = new PointHistory(i + 1, i % users, 100L, TransactionType.CHARGE, i);
+            table.add(pointHistory);
+            columnarIndex.add(pointHistory);
+        }
+        probeUserId = users / 2;
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return table.stream().filter(pointHistory -> pointHistory.userId() == probeUserId).toList();
+    }
+
+    @Benchmark
+    public List<PointHistory> columnar() {
+        return columnarIndex.findAllByUserId(probeUserId);
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자당 이력 수에 따라 PointHistoryRepository 의 조회 방식별 지연을 비교한다.
+ * 전체 이력 수는 고정하고 사용자당 이력 수를 늘리므로, 사용자 수(카디널리티)는 반대로 줄어든다.
+ * - findAll : 사용자의 전체 이력
+ * - page : 중간 지점의 커서 이후 100 건
+ * - typePage : USE 이력 중 처음 100 건
+ * - period : 사용자 이력 기간의 가운데 10% 구간
+ * 조회할 사용자는 호출마다 무작위로 고른다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PointHistoryQueryBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000000"})
+    private int totalHistories;
+
+    @Param({"10", "1000", "100000"})
+    private int historiesPerUser;
+
+    private PointHistoryRepository repository;
+    private int users;
+
+    /**
+     * i 번째 이력은 id i + 1, 사용자 i % users, updateMillis i 로 기록한다.
+     * 따라서 사용자 u 의 k 번째 이력은 id k * users + u + 1, updateMillis k * users + u 이다.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = totalHistories / historiesPerUser;
+        repository = new PointHistoryRepository(new TablePointHistoryStorage(new PointHistoryTable()));
+        for (int i = 0; i < totalHistories; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            repository.restore(new PointHistory(i + 1, i % users, 100L, type, i));
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> findAll() {
+        return repository.findAllByUserId(randomUser());
+    }
+
+    @Benchmark
+    public List<PointHistory> page() {
+        long userId = randomUser();
+        long cursor = (long) (historiesPerUser / 2) * users + userId + 1;
+        return repository.findByUserId(userId, new PointHistoryQuery(cursor, PAGE_SIZE, null, null, null));
+    }
+
+    @Benchmark
+    public List<PointHistory> typePage() {
+        return repository.findByUserId(randomUser(), new PointHistoryQuery(null, PAGE_SIZE, null, null, TransactionType.USE));
+    }
+
+    @Benchmark
+    public List<PointHistory> period() {
+        long from = (long) (historiesPerUser / 2) * users;
+        long to = from + (long) Math.max(1, historiesPerUser / 10) * users - 1;
+        return repository.findByUserId(randomUser(), new PointHistoryQuery(null, null, from, to, null));
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(users);
+    }
+}
@@ -0,0 +1,140 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WAL 의 기록 처리량과 복구 시간을 측정한다.
+ * - append : fsync 까지 기다리는 기록. 스레드가 많을수록 한 번의 fsync 에 여러 레코드가 묶여 처리량이 늘어난다.
+ * - replay : 레코드 100만 건의 세그먼트를 처음부터 읽어 재생하는 시간(파일 읽기 + 체크섬 검증).
+ * - loadSnapshot : 같은 상태를 담은 스냅샷을 메모리 매핑해 읽는 시간. 스냅샷이 있으면 replay 는 그 이후의 레코드만 읽는다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointWriteAheadLogBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+        private final AtomicLong userIds = new AtomicLong();
+        private Path directory;
+        private PointWriteAheadLog log;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("wal-append");
+            log = start(directory);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            log.stop();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReplayState {
+        @Param({"1000000"})
+        private int records;
+
+        private Path directory;
+        private Path snapshotDirectory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("wal-replay");
+            snapshotDirectory = Files.createTempDirectory("wal-snapshot");
+            PointWriteAheadLog log = start(directory);
+            CompletableFuture<Void> last = null;
+            for (int i = 0; i < records; i++) {
+                last = log.append(i % 100_000, 100L, TransactionType.CHARGE, i);
+            }
+            last.join();
+            log.stop();
+
+            PointHistoryRepository repository = new PointHistoryRepository(new TablePointHistoryStorage(new PointHistoryTable()));
+            PointWriteAheadLog.replay(directory, (sequence, userId, amount, type, updateMillis) ->
+                repository.restore(new PointHistory(sequence, userId, amount, type, updateMillis))
+            );
+            PointSnapshot.write(snapshotDirectory, records, repository);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+            FileSystemUtils.deleteRecursively(snapshotDirectory);
+        }
+    }
+
+    private static PointWriteAheadLog start(Path directory) {
+        PointWriteAheadLog log = new PointWriteAheadLog(
+            new PointWriteAheadLogProperties(true, directory, DataSize.ofMegabytes(64), 1024, Duration.ZERO),
+            new UserPointRepository(new TableUserPointStorage(new UserPointTable())),
+            new PointHistoryRepository(new TablePointHistoryStorage(new PointHistoryTable()))
+        );
+        log.start();
+        return log;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void appendSingleThread(AppendState state) {
+        state.log.append(state.userIds.incrementAndGet(), 100L, TransactionType.CHARGE, 1L).join();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void appendGroupCommit(AppendState state) {
+        state.log.append(state.userIds.incrementAndGet(), 100L, TransactionType.CHARGE, 1L).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public long replay(ReplayState state, Blackhole blackhole) throws IOException {
+        return PointWriteAheadLog.replay(state.directory, (sequence, userId, amount, type, updateMillis) ->
+            blackhole.consume(userId + amount)
+        ).lastSequence();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public long loadSnapshot(ReplayState state, Blackhole blackhole) throws IOException {
+        return PointSnapshot.loadLatest(
+            state.snapshotDirectory,
+            (userId, point, updateMillis) -> blackhole.consume(point),
+            blackhole::consume
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증에 실패하는 사용 요청을 PointService 로 보내 거절 경로 전체(AOP, 사용자 락, 처리기, PointCommand.await)의 비용을 측정한다.
+ * PointValidatorBenchmark 가 검증 자체만 재는 것과 달리, 결과를 기다리며 예외를 감싸거나 스택 트레이스를 채우는 비용까지 포함한다.
+ * 잔액이 0 인 사용자에게서 1 포인트를 사용하므로 모든 요청이 잔액 부족으로 거절된다.
+ * 거절 한 건당 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointRejectionBenchmark {
+    private static final long USER_ID = 1L;
+
+    @Param({"false", "true"})
+    private boolean combining;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "concurrency-control.max-queue-depth=-1",
+            "concurrency-control.max-in-flight=0",
+            "point.combining.enabled=" + combining
+        );
+        pointService = context.getBean(PointService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object rejectUse() {
+        try {
+            return pointService.use(USER_ID, 1L);
+        } catch (PointValidationException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.BenchmarkApplication;
+import io.hhplus.tdd.database.UserPointStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 모드와 결합(combining) 여부에 따라 PointService.charge/use 의 처리량과 지연 분포를 비교한다.
+ * 지연 없는 simulated 저장소를 사용하므로 락, AOP, 캐시, 이력 기록 대기열 등 서비스 자체의 비용만 측정한다.
+ * <p>
+ * users 로 경합 정도를 조절한다. 1 이면 모든 스레드가 한 사용자에게 몰리고, 1,000,000 이면 거의 경합하지 않는다.
+ * 충전과 사용 스레드가 같은 수로 1 포인트씩 주고받으므로 잔액은 초기값 근처에 머물러 잔액 한도에 걸리지 않는다.
+ * 스레드 수는 ./gradlew jmh -Pjmh.threads=32 처럼 바꿀 수 있다(충전/사용 스레드가 절반씩 나뉜다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PointServiceBenchmark {
+    private static final long INITIAL_BALANCE = UserPoint.MAX_BALANCE / 2;
+
+    @Param({"1", "64", "1000000"})
+    private int users;
+
+    @Param({"PER_KEY", "STRIPED"})
+    private String lockMode;
+
+    @Param({"false", "true"})
+    private boolean combining;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+            "concurrency-control.mode=" + lockMode,
+            "concurrency-control.max-queue-depth=-1",
+            "concurrency-control.max-in-flight=0",
+            "point.combining.enabled=" + combining
+        );
+        UserPointStorage userPointStorage = context.getBean(UserPointStorage.class);
+        for (long id = 0; id < users; id++) {
+            userPointStorage.insertOrUpdate(id, INITIAL_BALANCE);
+        }
+        pointService = context.getBean(PointService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("chargeAndUse")
+    @GroupThreads(4)
+    public UserPoint charge() {
+        return pointService.charge(randomUser(), 1L);
+    }
+
+    @Benchmark
+    @Group("chargeAndUse")
+    @GroupThreads(4)
+    public UserPoint use() {
+        return pointService.use(randomUser(), 1L);
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(users);
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전/사용 검증의 통과 경로와 거절 경로 처리량을 비교한다.
+ * - validate* : 통과 경로
+ * - check* : 에러 코드만 반환하는 거절 경로. 할당이 없다.
+ * - reject* : 스택 트레이스 없는 예외를 던지는 거절 경로. 예외 객체 하나만 할당한다.
+ *   검증만 재므로, 서비스를 거쳐 거절될 때의 비용은 PointRejectionBenchmark 로 확인한다.
+ * - rejectChargeWithMessage : 예외를 받아 응답 메시지까지 만든다. ApiControllerAdvice 가 응답할 때의 비용이다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointValidatorBenchmark {
+    private final PointValidator pointValidator = new PointValidator(new SimpleMeterRegistry());
+
+    private UserPoint userPoint = new UserPoint(1L, UserPoint.MAX_BALANCE / 2, 0L);
+    private long validAmount = 1_000L;
+    private long overChargeAmount = UserPoint.MAX_CHARGE_AMOUNT + 1;
+    private long overUseAmount = UserPoint.MAX_BALANCE;
+
+    @Benchmark
+    public UserPoint validateCharge() {
+        pointValidator.validateCharge(userPoint, validAmount);
+        return userPoint;
+    }
+
+    @Benchmark
+    public UserPoint validateUse() {
+        pointValidator.validateUse(userPoint, validAmount);
+        return userPoint;
+    }
+
+    @Benchmark
+    public PointValidationError checkCharge() {
+        return pointValidator.checkCharge(userPoint.point(), overChargeAmount);
+    }
+
+    @Benchmark
+    public PointValidationError checkUse() {
+        return pointValidator.checkUse(userPoint.point(), overUseAmount);
+    }
+
+    @Benchmark
+    public Object rejectCharge() {
+        try {
+            pointValidator.validateCharge(userPoint, overChargeAmount);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object rejectUse() {
+        try {
+            pointValidator.validateUse(userPoint, overUseAmount);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String rejectChargeWithMessage() {
+        try {
+            pointValidator.validateCharge(userPoint, overChargeAmount);
+            return null;
+        } catch (PointValidationException e) {
+            return e.error().message(e.point(), e.amount());
+        }
+    }
+}
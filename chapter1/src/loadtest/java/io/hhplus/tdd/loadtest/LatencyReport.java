@@ -0,0 +1,121 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.loadtest.LoadTestOptions.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 지연을 HdrHistogram 으로 기록하고, 초 단위 진행 상황과 최종 백분위/처리량을 출력한다.
+ * errors 는 429 를 제외한 2xx 가 아닌 응답, failed 는 응답을 받지 못한 요청(연결 실패 등) 수다.
+ * 지연은 요청을 보내기로 예정된 시각부터 응답을 받은 시각까지로 잰다. 서버가 밀려 요청을 늦게 보낸 시간도 지연에 포함된다.
+ */
+class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        Stats operationStats = stats.get(operation);
+        operationStats.recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (status == 429) {
+            operationStats.rejected.increment();
+        } else if (status < 200 || status >= 300) {
+            operationStats.errors.increment();
+        }
+    }
+
+    void recordFailure(Operation operation) {
+        stats.get(operation).failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * 지난 호출 이후의 기록을 가져와 한 줄로 출력한다. measured 가 false 면 워밍업 구간이므로 결과에 합치지 않는다.
+     */
+    void printInterval(PrintStream out, long elapsedSeconds, boolean measured, int inFlight) {
+        Histogram interval = new Histogram(3);
+        for (Stats operationStats : stats.values()) {
+            Histogram operationInterval = operationStats.recorder.getIntervalHistogram();
+            if (measured) {
+                operationStats.total.add(operationInterval);
+            }
+            interval.add(operationInterval);
+        }
+
+        out.printf("%s %4ds  %8d req/s  p50 %8.2fms  p99 %8.2fms  max %8.2fms  in-flight %6d%n",
+            measured ? "[run]   " : "[warmup]",
+            elapsedSeconds,
+            interval.getTotalCount(),
+            millis(interval.getValueAtPercentile(50)),
+            millis(interval.getValueAtPercentile(99)),
+            millis(interval.getMaxValue()),
+            inFlight
+        );
+    }
+
+    void printSummary(PrintStream out, double seconds) {
+        out.println();
+        out.printf("%-8s %10s %10s %8s %8s %8s", "op", "count", "req/s", "errors", "429", "failed");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10s", "p" + format(percentile));
+        }
+        out.printf(" %10s%n", "max");
+
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        long rejected = 0;
+        long failures = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            printRow(out, entry.getKey().name().toLowerCase(), operationStats.total, seconds,
+                operationStats.errors.sum(), operationStats.rejected.sum(), operationStats.failures.sum());
+            all.add(operationStats.total);
+            errors += operationStats.errors.sum();
+            rejected += operationStats.rejected.sum();
+            failures += operationStats.failures.sum();
+        }
+        printRow(out, "all", all, seconds, errors, rejected, failures);
+        out.printf("%ndropped (max-in-flight 초과로 보내지 않은 요청): %d%n", dropped.sum());
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, double seconds, long errors, long rejected, long failures) {
+        out.printf("%-8s %10d %10.1f %8d %8d %8d", name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, rejected, failures);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %8.2fms", millis(histogram.getValueAtPercentile(percentile)));
+        }
+        out.printf(" %8.2fms%n", millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String format(double percentile) {
+        return percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static final class Stats {
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram total = new Histogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
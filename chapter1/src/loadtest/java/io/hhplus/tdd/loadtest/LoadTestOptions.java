@@ -0,0 +1,99 @@
+package io.hhplus.tdd.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "key=value" 형식의 실행 인자. 아래에 없는 key 는 애플리케이션 설정으로 넘긴다(예: point.storage.backend=simulated).
+ *
+ * @param rate          초당 요청 수. 응답을 기다리지 않고 일정한 간격으로 보낸다(open-loop).
+ * @param warmup        결과에서 제외하는 시작 구간
+ * @param duration      측정 구간
+ * @param users         요청할 사용자 수. 사용자 id 는 1 ~ users 이다.
+ * @param zipf          사용자 id 의 Zipf 지수. 0 이면 균등하고, 클수록 작은 id(hot user)에 요청이 몰린다.
+ * @param mix           요청 종류별 비중
+ * @param chargeAmount  충전 요청 금액
+ * @param useAmount     사용 요청 금액
+ * @param historyLimit  이력 조회 요청의 limit
+ * @param maxInFlight   응답을 기다리는 요청이 이만큼 쌓이면 보내지 않고 dropped 로 센다.
+ * @param seed          사용자 id 와 요청 종류를 고르는 난수의 seed
+ * @param target        대상 서버 주소. 지정하지 않으면 애플리케이션을 같은 프로세스에서 임의 포트로 띄운다.
+ * @param appProperties 애플리케이션으로 넘길 설정
+ */
+record LoadTestOptions(
+    int rate,
+    Duration warmup,
+    Duration duration,
+    int users,
+    double zipf,
+    Map<Operation, Integer> mix,
+    long chargeAmount,
+    long useAmount,
+    int historyLimit,
+    int maxInFlight,
+    long seed,
+    String target,
+    List<String> appProperties
+) {
+    enum Operation {
+        CHARGE,
+        USE,
+        GET,
+        HISTORY
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> appProperties = new ArrayList<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("인자는 key=value 형식이어야 합니다. 인자: " + arg);
+            }
+            String key = option.substring(0, separator);
+            if (key.contains(".")) {
+                appProperties.add("--" + option);
+            } else {
+                values.put(key, option.substring(separator + 1));
+            }
+        }
+
+        return new LoadTestOptions(
+            Integer.parseInt(values.getOrDefault("rate", "500")),
+            DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+            DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+            Integer.parseInt(values.getOrDefault("users", "100000")),
+            Double.parseDouble(values.getOrDefault("zipf", "1.0")),
+            parseMix(values.getOrDefault("mix", "charge:20,use:20,get:50,history:10")),
+            Long.parseLong(values.getOrDefault("chargeAmount", "1000")),
+            Long.parseLong(values.getOrDefault("useAmount", "100")),
+            Integer.parseInt(values.getOrDefault("historyLimit", "100")),
+            Integer.parseInt(values.getOrDefault("maxInFlight", "10000")),
+            Long.parseLong(values.getOrDefault("seed", "42")),
+            values.get("target"),
+            List.copyOf(appProperties)
+        );
+    }
+
+    /**
+     * 예: charge:20,use:20,get:50,history:10
+     */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] weight = entry.split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("요청 비중의 합은 0 보다 커야 합니다. mix: " + value);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.loadtest.LoadTestOptions.Operation;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * /point API 에 정해진 비율(rate)로 요청을 보내고 요청 종류별 지연 백분위와 처리량을 출력한다.
+ * <p>
+ * 요청은 응답을 기다리지 않고 예정된 시각마다 보내는 open-loop 방식이다. 서버가 느려져도 요청 간격이 늘어나지 않으므로
+ * 느린 구간의 대기 시간이 결과에서 빠지지 않는다(coordinated omission).
+ * 사용자 id 는 Zipf 분포로 골라 소수의 hot user 에 요청이 몰리는 상황을 재현한다.
+ * <p>
+ * 실행: ./gradlew loadTest -PloadTest.args="rate=2000 duration=60s zipf=1.1 point.storage.backend=simulated"
+ */
+public class PointLoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        String target = options.target();
+        if (target == null) {
+            List<String> appArgs = new ArrayList<>(options.appProperties());
+            appArgs.add("--server.port=0");
+            context = SpringApplication.run(TddApplication.class, appArgs.toArray(String[]::new));
+            target = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        try {
+            new PointLoadTest(options, target).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private final LoadTestOptions options;
+    private final String target;
+    private final LatencyReport report = new LatencyReport();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final ZipfGenerator users;
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    PointLoadTest(LoadTestOptions options, String target) {
+        this.options = options;
+        this.target = target;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(executor)
+            .build();
+        this.users = new ZipfGenerator(options.users(), options.zipf(), options.seed());
+        this.random = new SplittableRandom(options.seed() + 1);
+
+        List<Map.Entry<Operation, Integer>> weights = options.mix().entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .toList();
+        this.operations = new Operation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            operations[i] = weights.get(i).getKey();
+            sum += weights.get(i).getValue();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * 한 스레드가 예정된 시각마다 요청을 비동기로 보내고, 1초마다 진행 상황을 출력한다.
+     * 예정된 시각이 지났으면(스케줄러가 밀렸으면) 밀린 요청을 바로 보내고, 지연은 예정된 시각부터 잰다.
+     */
+    void run() throws InterruptedException {
+        System.out.printf("target: %s, rate: %d/s, users: %d, zipf: %s, mix: %s%n",
+            target, options.rate(), options.users(), options.zipf(), options.mix());
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long warmupNanos = options.warmup().toNanos();
+        long endNanos = warmupNanos + options.duration().toNanos();
+        long startedAt = System.nanoTime();
+        long nextReportAt = startedAt + TimeUnit.SECONDS.toNanos(1);
+
+        for (long sequence = 0; ; sequence++) {
+            long scheduledAt = startedAt + sequence * intervalNanos;
+            if (scheduledAt - startedAt >= endNanos) {
+                break;
+            }
+
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= nextReportAt) {
+                    nextReportAt = printInterval(startedAt, nextReportAt, warmupNanos);
+                } else if (now >= scheduledAt) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(Math.min(scheduledAt, nextReportAt) - now);
+                }
+            }
+            send(nextOperation(), users.next(), scheduledAt);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        printInterval(startedAt, nextReportAt, warmupNanos);
+        report.printSummary(System.out, options.duration().toNanos() / 1e9);
+        executor.shutdownNow();
+    }
+
+    private long printInterval(long startedAt, long reportAt, long warmupNanos) {
+        long elapsed = reportAt - startedAt;
+        report.printInterval(System.out, TimeUnit.NANOSECONDS.toSeconds(elapsed), elapsed > warmupNanos, inFlight.get());
+        return reportAt + TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private Operation nextOperation() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void send(Operation operation, long userId, long scheduledAt) {
+        if (inFlight.incrementAndGet() > options.maxInFlight()) {
+            inFlight.decrementAndGet();
+            report.recordDropped();
+            return;
+        }
+
+        httpClient.sendAsync(request(operation, userId), HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, e) -> {
+                inFlight.decrementAndGet();
+                if (e != null) {
+                    report.recordFailure(operation);
+                } else {
+                    report.record(operation, System.nanoTime() - scheduledAt, response.statusCode());
+                }
+            });
+    }
+
+    private HttpRequest request(Operation operation, long userId) {
+        String base = target + "/point/" + userId;
+        return switch (operation) {
+            case CHARGE -> patch(base + "/charge", options.chargeAmount());
+            case USE -> patch(base + "/use", options.useAmount());
+            case GET -> HttpRequest.newBuilder(URI.create(base)).GET().build();
+            case HISTORY -> HttpRequest.newBuilder(URI.create(base + "/histories?limit=" + options.historyLimit())).GET().build();
+        };
+    }
+
+    private static HttpRequest patch(String uri, long amount) {
+        return HttpRequest.newBuilder(URI.create(uri))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+            .build();
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * 1 ~ n 사이의 정수를 Zipf 분포(k 가 뽑힐 확률이 1/k^exponent 에 비례)로 뽑는다.
+ * 누적 분포 표를 만들지 않는 rejection-inversion 방식(Hörmann, Derflinger)이라 n 이 수천만이어도 메모리를 쓰지 않는다.
+ * exponent 가 0 이면 균등 분포다. 스레드 안전하지 않으므로 한 스레드에서만 사용한다.
+ */
+class ZipfGenerator {
+    private final int n;
+    private final double exponent;
+    private final SplittableRandom random;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    ZipfGenerator(int n, double exponent, long seed) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("n 은 1 이상, exponent 는 0 이상이어야 합니다. n: %d, exponent: %s".formatted(n, exponent));
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.random = new SplittableRandom(seed);
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+    }
+
+    int next() {
+        if (exponent == 0) {
+            return random.nextInt(n) + 1;
+        }
+
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.max(1, Math.min(n, (long) (x + 0.5)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    /**
+     * h 의 부정적분 (x^(1-exponent) - 1) / (1-exponent). exponent 가 1 이면 log(x) 이다.
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1.0 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1.0, x * (1.0 - exponent));
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+    }
+
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+}
@@ -1,5 +1,6 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointValidationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -19,4 +20,18 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalException(Exception e) {
         return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
     }
+
+    /**
+     * 검증 실패는 에러 코드와 검증한 값만 담아 전달되므로 메시지는 여기서 만든다.
+     */
+    @ExceptionHandler(value = PointValidationException.class)
+    public ResponseEntity<ErrorResponse> handlePointValidationException(PointValidationException e) {
+        String message = e.error().message(e.point(), e.amount());
+        return ResponseEntity.status(400).body(new ErrorResponse("400", message));
+    }
+
+    @ExceptionHandler(value = ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException e) {
+        return ResponseEntity.status(429).body(new ErrorResponse("429", e.getMessage()));
+    }
 }
\ No newline at end of file
@@ -12,4 +12,30 @@ public @interface ConcurrencyControl {
     String key();
     long timeout();
     TimeUnit timeUnit();
-}
\ No newline at end of file
+
+    /**
+     * DEFAULT 이면 concurrency-control.mode 설정을 따른다.
+     * MAILBOX 모드에서 CompletionStage 를 반환하는 메서드는 호출 즉시 future 를 반환하고, 반환한 stage 가 완료될 때까지를 한 차례로 본다.
+     * 그 외의 메서드는 호출한 스레드가 결과를 기다리므로 스레드 전환 비용만 더해진다. timeout 은 차례가 오기까지의 최대 대기 시간이다.
+     * 설정이 MAILBOX 여도 DEFAULT 인 동기 메서드는 PER_KEY 락을 사용한다. 같은 key 를 쓰는 메서드는 서로 배제하도록 같은 모드를 써야 하므로,
+     * 비동기 메서드와 key 를 공유하는 동기 메서드를 메일박스에서 실행하려면 MAILBOX 를 직접 지정한다.
+     */
+    LockMode mode() default LockMode.DEFAULT;
+
+    /**
+     * STRIPED 모드의 락 개수. 0 이면 concurrency-control.stripes 설정을 따르고, 2의 거듭제곱으로 올림된다.
+     */
+    int stripes() default 0;
+
+    /**
+     * 락을 새로 만들 때 공정(fair) 락으로 만들지 여부. 비공정 락은 경합 시 처리량이 높지만 대기 순서를 보장하지 않는다.
+     * 같은 key(또는 같은 stripe 배열)를 공유하는 메서드끼리는 락을 처음 만든 쪽의 설정을 따른다.
+     */
+    boolean fair() default true;
+
+    /**
+     * key 별로 락(또는 메일박스 차례)을 기다릴 수 있는 최대 요청 수. 초과한 요청은 기다리지 않고 {@link ConcurrencyLimitExceededException} 으로 실패한다.
+     * 음수면 concurrency-control.max-queue-depth 설정을 따른다. STRIPED 모드에서는 같은 stripe 를 쓰는 key 의 대기를 합쳐 센다.
+     */
+    int maxQueueDepth() default -1;
+}
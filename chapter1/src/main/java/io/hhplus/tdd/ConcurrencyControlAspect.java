@@ -1,38 +1,149 @@
 package io.hhplus.tdd;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.expression.Expression;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 락 대기는 ReentrantLock.tryLock 으로만 수행하고 synchronized 를 쓰지 않는다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled)에서는 대기 중인 요청이 캐리어 스레드를 점유하지 않고 언마운트된다.
+ * MAILBOX 모드는 락 없이 {@link MailboxExecutor} 의 key 별 메일박스에서 순서대로 실행한다.
+ * 동기 메서드는 메일박스에서 실행해도 호출한 스레드가 결과를 기다리므로, 설정의 MAILBOX 는 비동기 메서드에만 적용한다.
+ */
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class ConcurrencyControlAspect {
-    private final String LOCK_PREFIX = "LOCK";
-    private final ConcurrentMap<String, ReentrantLock> LOCK_MAP = new ConcurrentHashMap<>();
+    private final String LOCK_PREFIX = "LOCK::";
+    private final ConcurrentMap<Method, LockMetadata> METADATA_CACHE = new ConcurrentHashMap<>();
+    private final ConcurrentMap<StripesKey, StripedLocks> STRIPED_LOCKS = new ConcurrentHashMap<>();
+    private final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private final KeyedLockRegistry lockRegistry;
+    private final MailboxExecutor mailboxExecutor;
+    private final ConcurrencyControlProperties properties;
+    private final MeterRegistry meterRegistry;
 
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("concurrency.in.flight", IN_FLIGHT, AtomicInteger::get)
+            .description("락을 기다리거나 보유 중인 요청 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 전체 동시 처리 한도(concurrency-control.max-in-flight)를 넘는 요청은 락을 기다리지 않고 바로 거절한다.
+     * MAILBOX 모드에서 future 를 반환하는 메서드는 future 가 완료될 때까지 처리 중으로 센다.
+     */
     @Around("@annotation(cc)")
     public Object handle(ProceedingJoinPoint pjp, ConcurrencyControl cc) throws Throwable {
+        LockMetadata metadata = metadata(pjp, cc);
+        int maxInFlight = properties.maxInFlight();
+        if (IN_FLIGHT.incrementAndGet() > maxInFlight && maxInFlight > 0) {
+            IN_FLIGHT.decrementAndGet();
+            metadata.inFlightRejections().increment();
+            throw new ConcurrencyLimitExceededException("처리 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Object result;
+        try {
+            result = proceed(pjp, cc, metadata);
+        } catch (Throwable e) {
+            IN_FLIGHT.decrementAndGet();
+            throw e;
+        }
+
+        if (metadata.mode() == LockMode.MAILBOX && result instanceof CompletableFuture<?> response) {
+            response.whenComplete((ignored, e) -> IN_FLIGHT.decrementAndGet());
+        } else {
+            IN_FLIGHT.decrementAndGet();
+        }
+        return result;
+    }
+
+    private Object proceed(ProceedingJoinPoint pjp, ConcurrencyControl cc, LockMetadata metadata) throws Throwable {
+        Object dynamicValue = CustomSpringELParser.getDynamicValue(
+            metadata.parameterNames(),
+            pjp.getArgs(),
+            metadata.keyExpression()
+        );
+
+        if (metadata.stripedLocks() != null) {
+            ReentrantLock lock = metadata.stripedLocks().get(dynamicValue);
+            if (lock.isLocked() && lock.getQueueLength() >= metadata.maxQueueDepth()) {
+                throw queueDepthExceeded(metadata);
+            }
+            return proceedWithLock(pjp, cc, metadata, lock);
+        }
+
+        String key = LOCK_PREFIX + dynamicValue;
+        if (metadata.mode() == LockMode.MAILBOX) {
+            return proceedInMailbox(pjp, cc, metadata, key);
+        }
+
+        ReentrantLock lock = lockRegistry.tryAcquire(key, cc.fair(), metadata.maxQueueDepth());
+        if (lock == null) {
+            throw queueDepthExceeded(metadata);
+        }
+
+        try {
+            return proceedWithLock(pjp, cc, metadata, lock);
+        } finally {
+            lockRegistry.release(key);
+        }
+    }
+
+    private ConcurrencyLimitExceededException queueDepthExceeded(LockMetadata metadata) {
+        metadata.queueDepthRejections().increment();
+        return new ConcurrencyLimitExceededException("대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private Object proceedWithLock(
+        ProceedingJoinPoint pjp,
+        ConcurrencyControl cc,
+        LockMetadata metadata,
+        ReentrantLock lock
+    ) throws Throwable {
         Object result = null;
-        String key = cacheKey(pjp, cc);
-        ReentrantLock lock = LOCK_MAP.computeIfAbsent(key, (k) -> new ReentrantLock(true));
+        long waitStartedAt = System.nanoTime();
+        metadata.queueDepth().record(lock.getQueueLength());
 
         try {
             if (lock.tryLock(cc.timeout(), cc.timeUnit())) {
+                long acquiredAt = System.nanoTime();
+                metadata.waitTimer().record(acquiredAt - waitStartedAt, TimeUnit.NANOSECONDS);
                 try {
                     result = pjp.proceed();
                 } finally {
                     lock.unlock();
+                    metadata.holdTimer().record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
                 }
             } else {
+                metadata.timeoutCounter().increment();
                 throw new RuntimeException("락 획득 실패");
             }
         } catch (InterruptedException e) {
+            metadata.interruptCounter().increment();
             Thread.currentThread().interrupt();
             throw new RuntimeException("락 획득 중 인터럽트 발생", e);
         }
@@ -40,17 +151,184 @@ public class ConcurrencyControlAspect {
         return result;
     }
 
-    private String cacheKey(ProceedingJoinPoint pjp, ConcurrencyControl cc) {
-        String dynamicValue = CustomSpringELParser.getDynamicValue(
-                ((MethodSignature) pjp.getSignature()).getParameterNames(),
-                pjp.getArgs(),
-                cc.key()
-            )
-            .toString();
+    /**
+     * 차례(turn)는 timeout 이 지나면 예외로 완료된다. 메일박스 작업은 시작할 때 차례를 완료시키는 데 성공한 경우에만 메서드를 실행하므로,
+     * timeout 으로 실패한 요청은 나중에 차례가 와도 실행되지 않고, 이미 시작한 요청은 timeout 으로 실패하지 않는다.
+     */
+    private Object proceedInMailbox(
+        ProceedingJoinPoint pjp,
+        ConcurrencyControl cc,
+        LockMetadata metadata,
+        String key
+    ) throws Throwable {
+        long waitStartedAt = System.nanoTime();
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        CompletableFuture<Void> turn = new CompletableFuture<Void>().orTimeout(cc.timeout(), cc.timeUnit());
+        turn.whenComplete((ignored, e) -> {
+            if (e != null) {
+                metadata.timeoutCounter().increment();
+                response.completeExceptionally(new RuntimeException("락 획득 실패"));
+            }
+        });
 
-        return "%s::%s".formatted(
-            LOCK_PREFIX,
-            dynamicValue
-        );
+        metadata.queueDepth().record(mailboxExecutor.waiting(key));
+        try {
+            mailboxExecutor.<Object>submit(
+                key,
+                () -> mailboxTask(pjp, metadata, turn, response, waitStartedAt),
+                metadata.maxQueueDepth()
+            );
+        } catch (RejectedExecutionException e) {
+            turn.complete(null);
+            throw queueDepthExceeded(metadata);
+        }
+
+        if (metadata.async()) {
+            return response;
+        }
+
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private CompletionStage<Object> mailboxTask(
+        ProceedingJoinPoint pjp,
+        LockMetadata metadata,
+        CompletableFuture<Void> turn,
+        CompletableFuture<Object> response,
+        long waitStartedAt
+    ) {
+        if (!turn.complete(null)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long acquiredAt = System.nanoTime();
+        metadata.waitTimer().record(acquiredAt - waitStartedAt, TimeUnit.NANOSECONDS);
+        return invoke(pjp).whenComplete((result, e) -> {
+            metadata.holdTimer().record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+            if (e != null) {
+                response.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+            } else {
+                response.complete(result);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> invoke(ProceedingJoinPoint pjp) {
+        try {
+            Object result = pjp.proceed();
+            return result instanceof CompletionStage<?> stage
+                ? (CompletionStage<Object>) stage
+                : CompletableFuture.completedFuture(result);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 어노테이션이 붙은 메서드별로 파라미터 이름, 컴파일된 key 표현식, 락 모드, 메트릭을 한 번만 계산해 재사용한다.
+     * STRIPED 락 배열은 stripe 수와 fair 가 같은 메서드끼리 공유한다. 같은 key 를 쓰는 메서드끼리 서로 배제하려면 두 값을 맞춰야 한다.
+     */
+    private LockMetadata metadata(ProceedingJoinPoint pjp, ConcurrencyControl cc) {
+        MethodSignature signature = (MethodSignature) pjp.getSignature();
+        return METADATA_CACHE.computeIfAbsent(signature.getMethod(), (method) -> {
+            boolean async = CompletionStage.class.isAssignableFrom(method.getReturnType());
+            LockMode mode = mode(cc, async);
+            StripedLocks stripedLocks = null;
+            if (mode == LockMode.STRIPED) {
+                int stripes = StripedLocks.stripeCount(cc.stripes() > 0 ? cc.stripes() : properties.stripes());
+                stripedLocks = STRIPED_LOCKS.computeIfAbsent(
+                    new StripesKey(stripes, cc.fair()),
+                    (key) -> new StripedLocks(key.stripes(), key.fair())
+                );
+            }
+
+            return new LockMetadata(
+                signature.getParameterNames(),
+                CustomSpringELParser.parse(cc.key()),
+                mode,
+                async,
+                stripedLocks,
+                timer("concurrency.lock.wait", "락 획득까지 대기한 시간", cc),
+                timer("concurrency.lock.hold", "락을 보유한 시간", cc),
+                counter("concurrency.lock.timeouts", "timeout 안에 락을 얻지 못한 횟수", cc),
+                counter("concurrency.lock.interrupts", "락 대기 중 인터럽트된 횟수", cc),
+                maxQueueDepth(cc),
+                DistributionSummary.builder("concurrency.lock.queue.depth")
+                    .description("요청이 도착했을 때 같은 key 에서 먼저 기다리고 있던 요청 수")
+                    .tag("key", cc.key())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry),
+                rejectionCounter("queue-depth", cc),
+                rejectionCounter("in-flight", cc)
+            );
+        });
+    }
+
+    /**
+     * 설정(concurrency-control.mode)의 MAILBOX 는 CompletionStage 를 반환하는 메서드에만 적용하고, 동기 메서드는 PER_KEY 락을 사용한다.
+     * 동기 메서드를 메일박스에서 실행하면 호출한 스레드가 결과를 기다리며 파킹되므로 락 대기를 없애지 못하고 스레드 전환만 더해진다.
+     * 어노테이션에 MAILBOX 를 직접 지정한 메서드는 동기 메서드여도 메일박스에서 실행한다.
+     */
+    private LockMode mode(ConcurrencyControl cc, boolean async) {
+        if (cc.mode() != LockMode.DEFAULT) {
+            return cc.mode();
+        }
+        return properties.mode() == LockMode.MAILBOX && !async ? LockMode.PER_KEY : properties.mode();
+    }
+
+    /**
+     * key 값(사용자 id 등)이 아니라 key 표현식을 태그로 사용해 메트릭 카디널리티를 어노테이션 개수로 제한한다.
+     */
+    private Timer timer(String name, String description, ConcurrencyControl cc) {
+        return Timer.builder(name)
+            .description(description)
+            .tag("key", cc.key())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String description, ConcurrencyControl cc) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("key", cc.key())
+            .register(meterRegistry);
+    }
+
+    private int maxQueueDepth(ConcurrencyControl cc) {
+        int maxQueueDepth = cc.maxQueueDepth() >= 0 ? cc.maxQueueDepth() : properties.maxQueueDepth();
+        return maxQueueDepth >= 0 ? maxQueueDepth : Integer.MAX_VALUE;
+    }
+
+    private Counter rejectionCounter(String reason, ConcurrencyControl cc) {
+        return Counter.builder("concurrency.lock.rejections")
+            .description("대기열 또는 동시 처리 한도를 넘어 즉시 거절한 횟수")
+            .tag("key", cc.key())
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private record StripesKey(int stripes, boolean fair) {
+    }
+
+    private record LockMetadata(
+        String[] parameterNames,
+        Expression keyExpression,
+        LockMode mode,
+        boolean async,
+        StripedLocks stripedLocks,
+        Timer waitTimer,
+        Timer holdTimer,
+        Counter timeoutCounter,
+        Counter interruptCounter,
+        int maxQueueDepth,
+        DistributionSummary queueDepth,
+        Counter queueDepthRejections,
+        Counter inFlightRejections
+    ) {
     }
 }
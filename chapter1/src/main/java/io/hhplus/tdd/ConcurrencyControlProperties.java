@@ -0,0 +1,21 @@
+package io.hhplus.tdd;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param mode           어노테이션의 mode 가 DEFAULT 일 때 사용할 락 모드
+ * @param stripes        STRIPED 모드의 기본 락 개수
+ * @param mailboxThreads MAILBOX 모드에서 메일박스 작업을 실행하는 스레드 수
+ * @param maxQueueDepth  어노테이션의 maxQueueDepth 가 음수일 때 사용할 key 별 최대 대기 수. 음수면 제한하지 않는다.
+ * @param maxInFlight    모든 key 를 합쳐 락을 기다리거나 보유 중인 최대 요청 수. 0 이하면 제한하지 않는다.
+ */
+@ConfigurationProperties(prefix = "concurrency-control")
+public record ConcurrencyControlProperties(
+    @DefaultValue("PER_KEY") LockMode mode,
+    @DefaultValue("1024") int stripes,
+    @DefaultValue("64") int mailboxThreads,
+    @DefaultValue("-1") int maxQueueDepth,
+    @DefaultValue("0") int maxInFlight
+) {
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd;
+
+/**
+ * 대기열 또는 동시 처리 한도를 넘어 즉시 거절된 요청. 과부하 상황에서 자주 발생하므로 스택 트레이스를 만들지 않는다.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,20 +1,42 @@
 package io.hhplus.tdd;
 
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 public class CustomSpringELParser {
+    /**
+     * MIXED 모드: 몇 번 인터프리터로 평가된 뒤 바이트코드로 컴파일되고,
+     * 컴파일된 표현식이 실패하면(인자 타입 변경 등) 다시 인터프리터로 돌아간다.
+     */
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, CustomSpringELParser.class.getClassLoader())
+    );
+    private static final ConcurrentMap<String, Expression> EXPRESSION_CACHE = new ConcurrentHashMap<>();
+
     private CustomSpringELParser() {
     }
 
+    public static Expression parse(String key) {
+        return EXPRESSION_CACHE.computeIfAbsent(key, PARSER::parseExpression);
+    }
+
     public static Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
-        SpelExpressionParser parser = new SpelExpressionParser();
+        return getDynamicValue(parameterNames, args, parse(key));
+    }
+
+    public static Object getDynamicValue(String[] parameterNames, Object[] args, Expression expression) {
         StandardEvaluationContext context = new StandardEvaluationContext();
 
         for (int i = 0; i < parameterNames.length; i++) {
             context.setVariable(parameterNames[i], args[i]);
         }
 
-        return parser.parseExpression(key).getValue(context);
+        return expression.getValue(context);
     }
 }
@@ -0,0 +1,70 @@
+package io.hhplus.tdd;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * key 별 ReentrantLock 을 참조 카운트로 관리한다.
+ * 락을 보유하거나 대기 중인 스레드가 하나도 없으면 엔트리를 제거해 맵이 계속 커지지 않도록 한다.
+ * 참조 카운트 증감은 ConcurrentHashMap.compute 안에서만 일어나므로 같은 key 에 대해 직렬화된다.
+ */
+@Component
+public class KeyedLockRegistry {
+    private final ConcurrentMap<String, LockEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * key 에 해당하는 락의 참조를 얻는다. 사용이 끝나면 반드시 {@link #release(String)} 를 호출해야 한다.
+     */
+    public ReentrantLock acquire(String key) {
+        return acquire(key, true);
+    }
+
+    /**
+     * @param fair 엔트리가 없어 락을 새로 만들 때의 공정성. 이미 참조 중인 락이 있으면 그 락을 그대로 반환한다.
+     */
+    public ReentrantLock acquire(String key, boolean fair) {
+        return entries.compute(key, (k, entry) -> {
+            LockEntry acquired = entry == null ? new LockEntry(new ReentrantLock(fair)) : entry;
+            acquired.references++;
+            return acquired;
+        }).lock;
+    }
+
+    /**
+     * 락을 보유하거나 기다리는 스레드 중 대기자가 이미 maxWaiters 명 이상이면 참조를 얻지 않고 null 을 반환한다.
+     * 참조를 얻은 경우에만 {@link #release(String)} 를 호출해야 한다.
+     */
+    public ReentrantLock tryAcquire(String key, boolean fair, int maxWaiters) {
+        boolean[] rejected = {false};
+        LockEntry acquired = entries.compute(key, (k, entry) -> {
+            if (entry != null && entry.references > maxWaiters) {
+                rejected[0] = true;
+                return entry;
+            }
+            LockEntry current = entry == null ? new LockEntry(new ReentrantLock(fair)) : entry;
+            current.references++;
+            return current;
+        });
+        return rejected[0] ? null : acquired.lock;
+    }
+
+    public void release(String key) {
+        entries.computeIfPresent(key, (k, entry) -> --entry.references == 0 ? null : entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock;
+        private int references;
+
+        private LockEntry(ReentrantLock lock) {
+            this.lock = lock;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * key 별로 작업을 제출 순서대로 하나씩 실행하는 executor.
+ * 같은 key 의 이전 작업이 끝나면 그 완료 콜백에서 다음 작업을 공용 executor 에 제출하므로, 차례를 기다리는 동안 점유하는 스레드가 없다.
+ * 맵에는 작업이 남아 있는 key 만 남고, 마지막 작업이 끝나면 엔트리를 제거한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeyedSerialExecutor {
+    private final ConcurrentMap<Object, Queue> queues = new ConcurrentHashMap<>();
+    private final AsyncTaskExecutor executor;
+
+    /**
+     * 작업의 결과 또는 작업이 던진 예외(감싸지 않은 원래 예외)로 완료되는 future 를 반환한다.
+     * 앞선 작업이 실패해도 다음 작업은 실행된다.
+     */
+    public <T> CompletableFuture<T> submit(Object key, Supplier<T> task) {
+        return submit(key, task, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxWaiting 실행 중인 작업 뒤에서 차례를 기다릴 수 있는 최대 작업 수
+     * @throws RejectedExecutionException 이미 maxWaiting 개의 작업이 기다리고 있는 경우
+     */
+    public <T> CompletableFuture<T> submit(Object key, Supplier<T> task, int maxWaiting) {
+        return submitAsync(key, () -> CompletableFuture.completedFuture(task.get()), maxWaiting);
+    }
+
+    /**
+     * 작업이 반환한 CompletionStage 가 완료될 때까지를 한 차례로 본다. 그 전에는 같은 key 의 다음 작업을 시작하지 않는다.
+     */
+    public <T> CompletableFuture<T> submitAsync(Object key, Supplier<? extends CompletionStage<T>> task) {
+        return submitAsync(key, task, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxWaiting 실행 중인 작업 뒤에서 차례를 기다릴 수 있는 최대 작업 수
+     * @throws RejectedExecutionException 이미 maxWaiting 개의 작업이 기다리고 있는 경우
+     */
+    public <T> CompletableFuture<T> submitAsync(Object key, Supplier<? extends CompletionStage<T>> task, int maxWaiting) {
+        CompletableFuture<T> next = new CompletableFuture<>();
+        CompletableFuture<?>[] previous = {null};
+        boolean[] rejected = {false};
+        queues.compute(key, (k, queue) -> {
+            if (queue != null && queue.size > maxWaiting) {
+                rejected[0] = true;
+                return queue;
+            }
+            Queue current = queue == null ? new Queue() : queue;
+            previous[0] = current.tail;
+            current.tail = next;
+            current.size++;
+            return current;
+        });
+        if (rejected[0]) {
+            throw new RejectedExecutionException("대기 중인 작업이 너무 많습니다. key: " + key);
+        }
+
+        next.whenComplete((result, e) -> queues.computeIfPresent(key, (k, queue) -> --queue.size == 0 ? null : queue));
+        if (previous[0] == null) {
+            run(task, next);
+        } else {
+            previous[0].whenComplete((result, e) -> run(task, next));
+        }
+        return next;
+    }
+
+    /**
+     * key 에서 실행 중인 작업 뒤에 차례를 기다리는 작업 수
+     */
+    public int waiting(Object key) {
+        Queue queue = queues.get(key);
+        return queue == null ? 0 : Math.max(queue.size - 1, 0);
+    }
+
+    /**
+     * 실행 중이거나 차례를 기다리는 작업이 있는 key 의 수
+     */
+    public int size() {
+        return queues.size();
+    }
+
+    private <T> void run(Supplier<? extends CompletionStage<T>> task, CompletableFuture<T> future) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.get().whenComplete((result, e) -> {
+                        if (e != null) {
+                            future.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                        } else {
+                            future.complete(result);
+                        }
+                    });
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * key 의 마지막 작업(tail)과 실행 중인 작업을 포함한 남은 작업 수(size). compute 안에서만 변경된다.
+     */
+    private static final class Queue {
+        private CompletableFuture<?> tail;
+        private int size;
+    }
+}
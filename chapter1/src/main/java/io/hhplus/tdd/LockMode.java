@@ -0,0 +1,14 @@
+package io.hhplus.tdd;
+
+/**
+ * 락 모드
+ * - DEFAULT : application 설정(concurrency-control.mode)을 따른다.
+ * - PER_KEY : key 마다 락을 하나씩 만들고, 사용하는 스레드가 없으면 제거한다.
+ * - STRIPED : 고정 개수의 락 배열에서 key 의 해시로 락을 고른다. 사용자 수와 무관하게 메모리가 일정하다.
+ * - MAILBOX : 락 대신 key 별 메일박스에 작업을 넣고 전용 풀이 순서대로 하나씩 실행한다.
+ *             CompletionStage 를 반환하는 메서드는 락을 기다리며 파킹되는 스레드가 없다. 동기 메서드는 호출한 스레드가 결과를 기다리므로
+ *             스레드 전환만 더해진다. 그래서 설정(concurrency-control.mode)의 MAILBOX 는 동기 메서드에 PER_KEY 로 적용한다.
+ */
+public enum LockMode {
+    DEFAULT, PER_KEY, STRIPED, MAILBOX
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * MAILBOX 모드에서 key 별 메일박스의 작업을 실행한다.
+ * 애플리케이션 작업 풀(applicationTaskExecutor)과 스레드 풀을 분리해, 그 풀의 작업이 메일박스 결과를 기다리다 풀이 고갈되지 않도록 한다.
+ * 메일박스 작업 안에서 다른 MAILBOX 메서드를 동기로 호출하면 같은 이유로 이 풀이 고갈될 수 있다.
+ */
+@Component
+public class MailboxExecutor implements DisposableBean {
+    private final ExecutorService executorService;
+    private final KeyedSerialExecutor mailboxes;
+
+    public MailboxExecutor(ConcurrencyControlProperties properties) {
+        this.executorService = Executors.newFixedThreadPool(
+            properties.mailboxThreads(),
+            Thread.ofPlatform().name("mailbox-", 0).factory()
+        );
+        this.mailboxes = new KeyedSerialExecutor(new TaskExecutorAdapter(executorService));
+    }
+
+    public <T> CompletableFuture<T> submit(String key, Supplier<? extends CompletionStage<T>> task) {
+        return mailboxes.submitAsync(key, task);
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException 메일박스에 이미 maxWaiting 개의 작업이 기다리고 있는 경우
+     */
+    public <T> CompletableFuture<T> submit(String key, Supplier<? extends CompletionStage<T>> task, int maxWaiting) {
+        return mailboxes.submitAsync(key, task, maxWaiting);
+    }
+
+    public int waiting(String key) {
+        return mailboxes.waiting(key);
+    }
+
+    /**
+     * 처리 중이거나 대기 중인 작업이 있는 메일박스 수. 유휴 메일박스는 남지 않는다.
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+}
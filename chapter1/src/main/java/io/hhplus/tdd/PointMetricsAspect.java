@@ -0,0 +1,128 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.UserPointStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 의 public 메서드와 저장소 호출 시간을 백분위 히스토그램 타이머로 기록한다.
+ * - point.service : operation(메서드 이름), outcome 태그
+ * - point.storage : storage(user-point, point-history), operation, outcome 태그
+ * <p>
+ * 사용자 id 같은 값은 태그로 쓰지 않아 메트릭 수는 메서드 수 x outcome 수로 고정된다.
+ * 타이머는 메서드별로 한 번만 만들어 재사용한다. future 를 반환하는 메서드는 future 가 완료될 때까지 잰다.
+ * point.metrics.enabled=false 로 끌 수 있다.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "point.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PointMetricsAspect {
+    private static final Duration MAX_EXPECTED_DURATION = Duration.ofSeconds(30);
+
+    private final ConcurrentMap<Method, Timer[]> SERVICE_TIMERS = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Timer[]> STORAGE_TIMERS = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * io.hhplus.tdd.point.PointService.*(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Timer[] timers = SERVICE_TIMERS.computeIfAbsent(method, (key) ->
+            timers("point.service", "PointService 메서드 처리 시간", null, key.getName())
+        );
+        return record(pjp, timers);
+    }
+
+    @Around("execution(* io.hhplus.tdd.database.UserPointStorage.selectById(..))"
+        + " || execution(* io.hhplus.tdd.database.UserPointStorage.insertOrUpdate(..))"
+        + " || execution(* io.hhplus.tdd.database.PointHistoryStorage.insert(..))")
+    public Object timeStorage(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Timer[] timers = STORAGE_TIMERS.computeIfAbsent(method, (key) -> {
+            String storage = pjp.getTarget() instanceof UserPointStorage ? "user-point" : "point-history";
+            return timers("point.storage", "저장소 호출 시간", storage, key.getName());
+        });
+        return record(pjp, timers);
+    }
+
+    private Object record(ProceedingJoinPoint pjp, Timer[] timers) throws Throwable {
+        long startedAt = System.nanoTime();
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            timers[Outcome.of(e).ordinal()].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((ignored, e) -> {
+                Outcome outcome = e == null ? Outcome.SUCCESS : Outcome.of(e);
+                timers[outcome.ordinal()].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            });
+        } else {
+            timers[Outcome.SUCCESS.ordinal()].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    private Timer[] timers(String name, String description, String storage, String operation) {
+        Outcome[] outcomes = Outcome.values();
+        Timer[] timers = new Timer[outcomes.length];
+        for (Outcome outcome : outcomes) {
+            Timer.Builder builder = Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_DURATION);
+            if (storage != null) {
+                builder.tag("storage", storage);
+            }
+            timers[outcome.ordinal()] = builder.register(meterRegistry);
+        }
+        return timers;
+    }
+
+    /**
+     * ApiControllerAdvice 의 응답 코드 분류를 따른다. invalid 는 400, rejected 는 429, error 는 500 이다.
+     */
+    private enum Outcome {
+        SUCCESS("success"),
+        INVALID("invalid"),
+        REJECTED("rejected"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        static Outcome of(Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof ConcurrencyLimitExceededException) {
+                return REJECTED;
+            }
+            if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+                return INVALID;
+            }
+            return ERROR;
+        }
+    }
+}
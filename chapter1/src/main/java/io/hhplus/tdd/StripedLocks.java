@@ -0,0 +1,54 @@
+package io.hhplus.tdd;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 2의 거듭제곱 개수로 고정된 락 배열. key 의 해시로 락을 고르므로 맵 조회와 key 문자열 생성이 필요 없다.
+ * 서로 다른 key 가 같은 락을 공유할 수 있으므로 stripe 수가 작을수록 불필요한 대기가 늘어난다.
+ */
+public class StripedLocks {
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        this(stripes, true);
+    }
+
+    public StripedLocks(int stripes, boolean fair) {
+        int size = stripeCount(stripes);
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock(fair);
+        }
+    }
+
+    public ReentrantLock get(Object key) {
+        return locks[spread(key.hashCode()) & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+
+    /**
+     * 요청한 stripe 수를 실제로 사용할 락 개수(2의 거듭제곱, 최대 65536)로 변환한다.
+     */
+    public static int stripeCount(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripe 수는 1 이상이어야 합니다. stripes: %d".formatted(stripes));
+        }
+
+        return ceilingPowerOfTwo(Math.min(stripes, MAX_STRIPES));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,256 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 사용자 id 별로 이력을 append-only 세그먼트에 모아 두는 인덱스.
+ * 사용자 이력 조회 비용이 전체 이력 수가 아니라 해당 사용자의 이력 수에만 비례한다.
+ * <p>
+ * 이력은 필드별 primitive 배열(id, amount, updateMillis, type)에 보관하고, userId 는 사용자별 세그먼트의 key 로 대신하므로 저장하지 않는다.
+ * 이력 한 건에 약 29 bytes(long 3개 + type 1 byte + 종류별 위치 int)를 쓰며, 이력 객체(48 bytes)와 그 참조를 보관하는 것보다 작다.
+ * <p>
+ * 한 사용자의 이력은 사용자 락 안에서 순서대로 기록되므로 세그먼트 안에서 id 와 updateMillis 가 오름차순이다.
+ * 이를 이용해 커서(afterId)와 기간(from/to) 조건은 이진 탐색으로 찾고,
+ * 종류(type) 조건은 종류별 위치 목록을 따로 두어 전체를 거르지 않고 처리한다.
+ * 커서/기간 조건은 객체를 만들지 않고 id/updateMillis 배열에서 바로 이진 탐색하고,
+ * PointHistory 객체는 조회 결과로 반환하거나 직렬화할 때만 만든다.
+ */
+public class ColumnarPointHistoryIndex implements PointHistoryStore {
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ConcurrentMap<Long, Segment> segments = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(PointHistory pointHistory) {
+        segments.computeIfAbsent(pointHistory.userId(), Segment::new).append(pointHistory);
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        Segment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.snapshot();
+    }
+
+    @Override
+    public Stream<PointHistory> streamByUserId(long userId) {
+        Segment segment = segments.get(userId);
+        return segment == null ? Stream.empty() : segment.stream();
+    }
+
+    @Override
+    public List<PointHistory> findByUserId(long userId, PointHistoryQuery query) {
+        Segment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.find(query);
+    }
+
+    @Override
+    public Set<Long> userIds() {
+        return Collections.unmodifiableSet(segments.keySet());
+    }
+
+    /**
+     * 한 사용자의 이력 배열 묶음. 쓰기는 락으로 직렬화하고, 읽기는 락 없이 volatile size 까지만 읽는다.
+     * 배열을 늘릴 때는 모든 배열을 새 {@link Columns} 로 바꿔 한 번에 공개하므로,
+     * size 를 먼저 읽은 reader 는 그 이후에 읽은 Columns 에서 size 개의 원소를 항상 볼 수 있다.
+     */
+    static final class Segment {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final long userId;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final Positions[] positionsByType = new Positions[TYPES.length];
+        private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+        private volatile int size;
+
+        Segment(long userId) {
+            this.userId = userId;
+            for (int i = 0; i < positionsByType.length; i++) {
+                positionsByType[i] = new Positions();
+            }
+        }
+
+        void append(PointHistory pointHistory) {
+            writeLock.lock();
+            try {
+                Columns current = columns;
+                int position = size;
+                if (position == current.ids.length) {
+                    current = current.grow();
+                }
+                current.ids[position] = pointHistory.id();
+                current.amounts[position] = pointHistory.amount();
+                current.updateMillis[position] = pointHistory.updateMillis();
+                current.types[position] = (byte) pointHistory.type().ordinal();
+                columns = current;
+                size = position + 1;
+                positionsByType[pointHistory.type().ordinal()].append(position);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        List<PointHistory> snapshot() {
+            int count = size;
+            Columns current = columns;
+            List<PointHistory> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(current.materialize(userId, i));
+            }
+            return result;
+        }
+
+        Stream<PointHistory> stream() {
+            int count = size;
+            Columns current = columns;
+            return IntStream.range(0, count).mapToObj(i -> current.materialize(userId, i));
+        }
+
+        List<PointHistory> find(PointHistoryQuery query) {
+            View view = query.type() == null ? allView() : typeView(query.type());
+
+            int start = 0;
+            if (query.afterId() != null) {
+                start = Math.max(start, view.firstAfter(view.columns().ids, query.afterId()));
+            }
+            if (query.from() != null) {
+                start = Math.max(start, view.firstAtLeast(view.columns().updateMillis, query.from()));
+            }
+
+            int end = view.count();
+            if (query.to() != null) {
+                end = view.firstAfter(view.columns().updateMillis, query.to());
+            }
+            if (query.limit() != null) {
+                end = Math.min(end, start + query.limit());
+            }
+
+            List<PointHistory> result = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                result.add(view.columns().materialize(userId, view.position(i)));
+            }
+            return result;
+        }
+
+        private View allView() {
+            int count = size;
+            return new View(columns, null, count);
+        }
+
+        /**
+         * 위치 목록을 먼저 읽고 배열 묶음을 나중에 읽어야 목록이 가리키는 원소가 배열에 모두 들어 있다.
+         */
+        private View typeView(TransactionType type) {
+            Positions typePositions = positionsByType[type.ordinal()];
+            int count = typePositions.size;
+            int[] positions = typePositions.positions;
+            return new View(columns, positions, count);
+        }
+    }
+
+    /**
+     * 같은 길이의 필드별 배열. 늘릴 때는 기존 값을 복사한 새 묶음을 만든다.
+     */
+    private static final class Columns {
+        private final long[] ids;
+        private final long[] amounts;
+        private final long[] updateMillis;
+        private final byte[] types;
+
+        Columns(int capacity) {
+            this(new long[capacity], new long[capacity], new long[capacity], new byte[capacity]);
+        }
+
+        private Columns(long[] ids, long[] amounts, long[] updateMillis, byte[] types) {
+            this.ids = ids;
+            this.amounts = amounts;
+            this.updateMillis = updateMillis;
+            this.types = types;
+        }
+
+        Columns grow() {
+            int capacity = ids.length * 2;
+            return new Columns(
+                Arrays.copyOf(ids, capacity),
+                Arrays.copyOf(amounts, capacity),
+                Arrays.copyOf(updateMillis, capacity),
+                Arrays.copyOf(types, capacity)
+            );
+        }
+
+        PointHistory materialize(long userId, int position) {
+            return new PointHistory(ids[position], userId, amounts[position], TYPES[types[position]], updateMillis[position]);
+        }
+    }
+
+    /**
+     * 한 종류의 이력이 세그먼트의 몇 번째 위치에 있는지를 오름차순으로 기록한다.
+     */
+    private static final class Positions {
+        private volatile int[] positions = new int[Segment.INITIAL_CAPACITY];
+        private volatile int size;
+
+        void append(int position) {
+            int[] current = positions;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = position;
+            positions = current;
+            size = size + 1;
+        }
+    }
+
+    /**
+     * 세그먼트 전체 또는 한 종류의 위치 목록을 정렬된 배열처럼 다루기 위한 읽기 전용 뷰.
+     */
+    private record View(
+        Columns columns,
+        int[] positions,
+        int count
+    ) {
+        int position(int index) {
+            return positions == null ? index : positions[index];
+        }
+
+        int firstAtLeast(long[] keys, long value) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[position(mid)] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int firstAfter(long[] keys, long value) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[position(mid)] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
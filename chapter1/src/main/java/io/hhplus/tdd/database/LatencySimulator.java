@@ -0,0 +1,144 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.PointStorageProperties.Latency;
+import io.hhplus.tdd.database.PointStorageProperties.Percentile;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 설정한 분포에서 지연을 뽑아 호출한 스레드를 그만큼 멈춘다.
+ * n 번째 호출의 난수는 seed 와 n 으로 계산(SplitMix64)하므로 같은 seed 면 호출 순서별 지연이 항상 같고,
+ * 스레드끼리는 순번 카운터만 공유한다.
+ * <p>
+ * sleep 대신 parkNanos 로 멈추므로 가상 스레드에서도 캐리어 스레드를 점유하지 않는다.
+ * 인터럽트되면 남은 지연을 건너뛰고 인터럽트 상태는 그대로 둔다.
+ */
+public class LatencySimulator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final Latency latency;
+    private final long seed;
+    private final AtomicLong sequence = new AtomicLong();
+    private final double[] ranks;
+    private final long[] rankNanos;
+
+    public LatencySimulator(Latency latency, long seed) {
+        validate(latency);
+        this.latency = latency;
+        this.seed = seed;
+
+        List<Percentile> percentiles = latency.percentiles();
+        this.ranks = new double[percentiles.size()];
+        this.rankNanos = new long[percentiles.size()];
+        for (int i = 0; i < percentiles.size(); i++) {
+            ranks[i] = percentiles.get(i).percentile() / 100.0;
+            rankNanos[i] = percentiles.get(i).latency().toNanos();
+        }
+    }
+
+    public void pause() {
+        long nanos = nextNanos();
+        long deadline = System.nanoTime() + nanos;
+        while (nanos > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(nanos);
+            nanos = deadline - System.nanoTime();
+        }
+    }
+
+    long nextNanos() {
+        return sample(sequence.getAndIncrement());
+    }
+
+    private long sample(long n) {
+        return switch (latency.distribution()) {
+            case FIXED -> latency.fixed().toNanos();
+            case UNIFORM -> {
+                long min = latency.min().toNanos();
+                yield min + (long) (uniform(n, 0) * (latency.max().toNanos() - min));
+            }
+            case LOG_NORMAL -> {
+                long nanos = (long) (latency.median().toNanos() * Math.exp(latency.sigma() * gaussian(n)));
+                long max = latency.max().toNanos();
+                yield max > 0 ? Math.min(nanos, max) : nanos;
+            }
+            case PERCENTILES -> interpolate(uniform(n, 0));
+        };
+    }
+
+    /**
+     * 정렬된 백분위 지점 사이를 선형 보간해 역누적분포를 계산한다.
+     */
+    private long interpolate(double rank) {
+        if (rank <= ranks[0]) {
+            return rankNanos[0];
+        }
+        for (int i = 1; i < ranks.length; i++) {
+            if (rank <= ranks[i]) {
+                double ratio = (rank - ranks[i - 1]) / (ranks[i] - ranks[i - 1]);
+                return rankNanos[i - 1] + (long) (ratio * (rankNanos[i] - rankNanos[i - 1]));
+            }
+        }
+        return rankNanos[ranks.length - 1];
+    }
+
+    /**
+     * [0, 1) 범위의 난수. 호출 하나에 난수가 두 개까지 필요하므로 stream 으로 구분한다.
+     */
+    private double uniform(long n, int stream) {
+        long z = seed + (2 * n + stream + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Box-Muller 변환으로 표준 정규 분포 난수를 만든다.
+     */
+    private double gaussian(long n) {
+        double u1 = 1.0 - uniform(n, 0);
+        double u2 = uniform(n, 1);
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+
+    private static void validate(Latency latency) {
+        switch (latency.distribution()) {
+            case FIXED -> require(!latency.fixed().isNegative(), "지연은 0 보다 작을 수 없습니다. fixed: " + latency.fixed());
+            case UNIFORM -> require(
+                !latency.min().isNegative() && latency.min().compareTo(latency.max()) <= 0,
+                "지연 범위가 올바르지 않습니다. min: %s, max: %s".formatted(latency.min(), latency.max())
+            );
+            case LOG_NORMAL -> require(
+                latency.median().compareTo(Duration.ZERO) > 0 && latency.sigma() >= 0,
+                "로그 정규 분포의 median 은 0 보다 크고 sigma 는 0 이상이어야 합니다. median: %s, sigma: %s"
+                    .formatted(latency.median(), latency.sigma())
+            );
+            case PERCENTILES -> validatePercentiles(latency.percentiles());
+        }
+    }
+
+    private static void validatePercentiles(List<Percentile> percentiles) {
+        require(!percentiles.isEmpty(), "PERCENTILES 분포에는 백분위 지연이 하나 이상 필요합니다.");
+        Percentile previous = null;
+        for (Percentile current : percentiles) {
+            require(
+                current.percentile() >= 0 && current.percentile() <= 100 && !current.latency().isNegative(),
+                "백분위는 0 ~ 100, 지연은 0 이상이어야 합니다. " + current
+            );
+            require(
+                previous == null || (previous.percentile() < current.percentile() && previous.latency().compareTo(current.latency()) <= 0),
+                "백분위 지연은 백분위와 지연 모두 오름차순이어야 합니다. " + previous + ", " + current
+            );
+            previous = current;
+        }
+    }
+
+    private static void require(boolean condition, String errorMessage) {
+        if (!condition) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+}
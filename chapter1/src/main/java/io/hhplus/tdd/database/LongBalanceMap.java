@@ -0,0 +1,243 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.StripedLocks;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 사용자 id 를 key 로 잔액과 updateMillis 를 primitive 배열에 보관하는 open addressing(linear probing) 맵.
+ * key 와 값을 boxing 하지 않고 항목마다 객체를 만들지 않으므로, 항목당 약 34 bytes(long 3개 / load factor 0.7)를 쓴다.
+ * UserPoint 는 {@link #get(long)} 으로 꺼낼 때만 만든다.
+ * <p>
+ * key 를 stripe 로 나누고 stripe 마다 StampedLock 을 둔다. 쓰기는 stripe 의 쓰기 락 안에서 하고,
+ * 읽기는 낙관적 읽기로 락 없이 시도한 뒤 그사이 쓰기가 있었으면 읽기 락으로 다시 읽는다.
+ * 삭제는 tombstone 없이 뒤의 항목을 당겨 채운다(backward shift).
+ */
+public class LongBalanceMap {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public LongBalanceMap() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes 2 의 거듭제곱으로 올림한다.
+     */
+    public LongBalanceMap(int stripes) {
+        int count = StripedLocks.stripeCount(stripes);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * 항목이 없으면 null 을 반환한다.
+     */
+    public UserPoint get(long id) {
+        return stripe(id).get(id, hash(id));
+    }
+
+    public void put(long id, long balance, long updateMillis) {
+        stripe(id).put(id, hash(id), balance, updateMillis, false);
+    }
+
+    /**
+     * 잔액에 delta 를 더하고 updateMillis 를 바꾼다. 항목이 없으면 잔액 0 에서 시작한다.
+     */
+    public void add(long id, long delta, long updateMillis) {
+        stripe(id).put(id, hash(id), delta, updateMillis, true);
+    }
+
+    public void remove(long id) {
+        stripe(id).remove(id, hash(id));
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripe(long id) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("사용할 수 없는 사용자 id 입니다. id: " + id);
+        }
+        return stripes[(int) (hash(id) >>> 40) & stripeMask];
+    }
+
+    /**
+     * 연속된 id 가 한쪽에 몰리지 않도록 섞는다(MurmurHash3 fmix64).
+     */
+    private static long hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = emptyKeys(INITIAL_CAPACITY);
+        private long[] balances = new long[INITIAL_CAPACITY];
+        private long[] updateMillis = new long[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * 낙관적 읽기 중에는 배열이 바뀔 수 있으므로 인자로 받은 배열 안에서만 탐색하고, 탐색 횟수도 배열 길이로 제한한다.
+         * 서로 다른 크기의 배열을 읽었다면 resize 중이므로 탐색하지 않는다. 이 경우 validate 가 실패해 락을 잡고 다시 읽는다.
+         */
+        UserPoint get(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                UserPoint userPoint = find(keys, balances, updateMillis, id, hash);
+                if (lock.validate(stamp)) {
+                    return userPoint;
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                return find(keys, balances, updateMillis, id, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void put(long id, long hash, long value, long millis, boolean accumulate) {
+            long stamp = lock.writeLock();
+            try {
+                if (size + 1 > keys.length * MAX_LOAD_FACTOR) {
+                    resize(keys.length * 2);
+                }
+                int mask = keys.length - 1;
+                int slot = (int) hash & mask;
+                while (keys[slot] != EMPTY && keys[slot] != id) {
+                    slot = (slot + 1) & mask;
+                }
+                if (keys[slot] == EMPTY) {
+                    keys[slot] = id;
+                    balances[slot] = 0L;
+                    size++;
+                }
+                balances[slot] = accumulate ? balances[slot] + value : value;
+                updateMillis[slot] = millis;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void remove(long id, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int slot = (int) hash & mask;
+                while (keys[slot] != id) {
+                    if (keys[slot] == EMPTY) {
+                        return;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                shiftBackward(slot, mask);
+                size--;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * 비운 자리 뒤의 항목 중 원래 자리(home)에서 비운 자리를 지나야 닿는 항목을 당겨 와 탐색 경로가 끊기지 않게 한다.
+         */
+        private void shiftBackward(int hole, int mask) {
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                long key = keys[next];
+                if (key == EMPTY) {
+                    break;
+                }
+                int home = (int) hash(key) & mask;
+                boolean reachable = hole <= next
+                    ? hole < home && home <= next
+                    : hole < home || home <= next;
+                if (reachable) {
+                    continue;
+                }
+                keys[hole] = key;
+                balances[hole] = balances[next];
+                updateMillis[hole] = updateMillis[next];
+                hole = next;
+            }
+            keys[hole] = EMPTY;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldBalances = balances;
+            long[] oldUpdateMillis = updateMillis;
+            long[] newKeys = emptyKeys(capacity);
+            long[] newBalances = new long[capacity];
+            long[] newUpdateMillis = new long[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) {
+                    continue;
+                }
+                int slot = (int) hash(oldKeys[i]) & mask;
+                while (newKeys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                newBalances[slot] = oldBalances[i];
+                newUpdateMillis[slot] = oldUpdateMillis[i];
+            }
+            keys = newKeys;
+            balances = newBalances;
+            updateMillis = newUpdateMillis;
+        }
+
+        private static UserPoint find(long[] keys, long[] balances, long[] updateMillis, long id, long hash) {
+            if (balances.length != keys.length || updateMillis.length != keys.length) {
+                return null;
+            }
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long key = keys[slot];
+                if (key == id) {
+                    return new UserPoint(id, balances[slot], updateMillis[slot]);
+                }
+                if (key == EMPTY) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static long[] emptyKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
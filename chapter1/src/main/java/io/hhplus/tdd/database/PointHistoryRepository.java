@@ -0,0 +1,69 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * PointHistoryStorage 앞에 두는 이력 저장소.
+ * 기록은 저장소에 그대로 위임하고, 반환된 이력을 사용자별 인덱스에 추가해 조회는 인덱스에서 처리한다.
+ * 인덱스는 이력을 필드별 primitive 배열로 보관하는 {@link ColumnarPointHistoryIndex} 를 사용한다.
+ * 테이블의 selectAllByUserId 는 전체 이력을 스캔하므로 저장소에는 기록만 위임한다.
+ * WAL 에서 복구한 이력은 인덱스에만 추가하고, 이후 저장소가 발급하는 id 는 복구한 마지막 id 뒤에 이어 붙인다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointHistoryRepository {
+    private final PointHistoryStorage pointHistoryStorage;
+    private final PointHistoryStore index = new ColumnarPointHistoryIndex();
+    private long idOffset;
+    private volatile long lastId;
+
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory inserted = pointHistoryStorage.insert(userId, amount, type, updateMillis);
+        PointHistory pointHistory = idOffset == 0
+            ? inserted
+            : new PointHistory(inserted.id() + idOffset, userId, amount, type, updateMillis);
+        index.add(pointHistory);
+        lastId = pointHistory.id();
+        return pointHistory;
+    }
+
+    /**
+     * 복구한 이력을 등록한다. 요청을 받기 전, 시작 과정에서 id 순서대로만 호출한다.
+     */
+    public void restore(PointHistory pointHistory) {
+        index.add(pointHistory);
+        idOffset = Math.max(idOffset, pointHistory.id());
+        lastId = idOffset;
+    }
+
+    /**
+     * 마지막으로 기록된 이력의 id. 이력은 id 순서대로 한 스레드에서 기록되므로 이 id 이하의 이력은 모두 조회할 수 있다.
+     */
+    public long lastId() {
+        return lastId;
+    }
+
+    public Set<Long> userIds() {
+        return index.userIds();
+    }
+
+    public List<PointHistory> findAllByUserId(long userId) {
+        return index.findAllByUserId(userId);
+    }
+
+    public Stream<PointHistory> streamByUserId(long userId) {
+        return index.streamByUserId(userId);
+    }
+
+    public List<PointHistory> findByUserId(long userId, PointHistoryQuery query) {
+        return index.findByUserId(userId, query);
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 포인트 이력 저장소. point.storage.backend 설정에 따라 구현이 선택된다.
+ * 조회는 PointHistoryRepository 의 인덱스에서 하므로 기록만 정의한다.
+ * - {@link TablePointHistoryStorage} : 제공된 PointHistoryTable (기본값)
+ * - {@link SimulatedPointHistoryStorage} : id 만 발급하고 설정한 분포의 지연을 더한다.
+ */
+public interface PointHistoryStorage {
+    /**
+     * 이력을 기록하고 id 를 발급한다. id 는 호출 순서대로 1 부터 증가한다.
+     */
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+}
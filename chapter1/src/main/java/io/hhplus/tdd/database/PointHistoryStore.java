@@ -0,0 +1,31 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * PointHistoryRepository 가 조회에 사용하는 사용자별 이력 저장소.
+ * 한 사용자의 이력은 id 오름차순으로 추가되어야 하고, 조회는 쓰기와 동시에 락 없이 할 수 있어야 한다.
+ * 구현은 필드별 primitive 배열에 보관하고 조회할 때만 객체를 만드는 {@link ColumnarPointHistoryIndex} 이다.
+ */
+public interface PointHistoryStore {
+    void add(PointHistory pointHistory);
+
+    List<PointHistory> findAllByUserId(long userId);
+
+    /**
+     * 호출 시점까지 기록된 이력만 순회한다.
+     */
+    Stream<PointHistory> streamByUserId(long userId);
+
+    List<PointHistory> findByUserId(long userId, PointHistoryQuery query);
+
+    /**
+     * 이력이 있는 사용자 id 목록. 순회 중에 추가되는 사용자는 포함되지 않을 수 있다.
+     */
+    Set<Long> userIds();
+}
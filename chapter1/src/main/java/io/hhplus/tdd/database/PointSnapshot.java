@@ -0,0 +1,279 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * WAL 의 lastSequence 번째 레코드까지 반영된 잔액과 이력을 담는 스냅샷 파일.
+ * 파일은 64MB 단위로 메모리 매핑해 쓰고 읽으며, 복구 시에는 스냅샷을 읽은 뒤 그 이후의 WAL 레코드만 재생한다.
+ * 임시 파일에 모두 쓰고 force 한 뒤 이름을 바꾸므로, 디렉터리에 보이는 스냅샷은 항상 완전한 파일이다.
+ * 이름을 바꾼 것이 디스크에 반영되었는지는 호출한 쪽이 디렉터리를 fsync 해 보장한다.
+ *
+ * 형식(long 단위로 정렬):
+ * header   : magic(int) | version(int) | lastSequence(long) | userCount(long) | historyCount(long)
+ * balances : userCount x (userId | point | updateMillis)
+ * histories: historyCount x (id | type ordinal | userId | amount | updateMillis), 사용자별로 id 오름차순
+ * trailer  : 앞의 모든 바이트에 대한 crc32c(int)
+ * version 1 은 type 을 id 의 최하위 1 bit 에 담았다(id << 1 | ordinal). 읽기만 지원한다.
+ */
+@Slf4j
+final class PointSnapshot {
+    static final String SUFFIX = ".snap";
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 2;
+    private static final int PACKED_TYPE_VERSION = 1;
+    private static final long HEADER_SIZE = 32L;
+    private static final long BALANCE_SIZE = 24L;
+    private static final long HISTORY_SIZE = 40L;
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointSnapshot() {
+    }
+
+    /**
+     * id 가 lastSequence 이하인 이력과 그 이력으로 계산한 잔액을 스냅샷으로 쓴다.
+     * 인덱스는 락 없이 읽으므로 스냅샷을 쓰는 동안에도 충전/사용이 멈추지 않고, lastSequence 이후의 이력은 포함하지 않는다.
+     */
+    static Path write(Path directory, long lastSequence, PointHistoryRepository repository) throws IOException {
+        List<UserPoint> balances = new ArrayList<>();
+        long historyCount = 0;
+        for (long userId : repository.userIds()) {
+            long[] sum = new long[3];
+            covered(repository, userId, lastSequence).forEach(history -> {
+                sum[0] += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+                sum[1] = history.updateMillis();
+                sum[2]++;
+            });
+            if (sum[2] > 0) {
+                balances.add(new UserPoint(userId, sum[0], sum[1]));
+                historyCount += sum[2];
+            }
+        }
+
+        Path path = directory.resolve(fileName(lastSequence));
+        Path temporary = directory.resolve(fileName(lastSequence) + ".tmp");
+        long size = HEADER_SIZE + balances.size() * BALANCE_SIZE + historyCount * HISTORY_SIZE;
+        try (FileChannel channel = FileChannel.open(temporary,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedOutput output = new MappedOutput(channel, size);
+            output.putInt(MAGIC);
+            output.putInt(VERSION);
+            output.putLong(lastSequence);
+            output.putLong(balances.size());
+            output.putLong(historyCount);
+            for (UserPoint balance : balances) {
+                output.putLong(balance.id());
+                output.putLong(balance.point());
+                output.putLong(balance.updateMillis());
+            }
+            for (UserPoint balance : balances) {
+                covered(repository, balance.id(), lastSequence).forEach(history -> {
+                    output.putLong(history.id());
+                    output.putLong(history.type().ordinal());
+                    output.putLong(history.userId());
+                    output.putLong(history.amount());
+                    output.putLong(history.updateMillis());
+                });
+            }
+            int checksum = output.finish();
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, checksum), size);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return path;
+    }
+
+    /**
+     * 체크섬이 맞는 가장 최근 스냅샷을 읽어 전달하고, 스냅샷이 반영한 마지막 WAL 순번을 반환한다. 스냅샷이 없으면 0 이다.
+     */
+    static long loadLatest(Path directory, BalanceConsumer balances, Consumer<PointHistory> histories) throws IOException {
+        for (Path path : snapshots(directory).reversed()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (!isValid(channel)) {
+                    log.warn("손상된 스냅샷을 건너뜁니다. snapshot: {}", path);
+                    continue;
+                }
+                return load(channel, balances, histories);
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * 오래된 순서로 정렬한 스냅샷 파일 목록.
+     */
+    static List<Path> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                .sorted(Comparator.comparing(Path::getFileName))
+                .toList();
+        }
+    }
+
+    static long lastSequence(Path snapshot) {
+        String fileName = snapshot.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long lastSequence) {
+        return "%020d%s".formatted(lastSequence, SUFFIX);
+    }
+
+    private static Stream<PointHistory> covered(PointHistoryRepository repository, long userId, long lastSequence) {
+        return repository.streamByUserId(userId).takeWhile(history -> history.id() <= lastSequence);
+    }
+
+    private static boolean isValid(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + Integer.BYTES) {
+            return false;
+        }
+
+        CRC32C checksum = new CRC32C();
+        for (long position = 0; position < size - Integer.BYTES; position += WINDOW_SIZE) {
+            checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - Integer.BYTES - position)));
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(trailer, size - Integer.BYTES);
+        return trailer.getInt(0) == (int) checksum.getValue();
+    }
+
+    private static long load(FileChannel channel, BalanceConsumer balances, Consumer<PointHistory> histories) throws IOException {
+        MappedInput input = new MappedInput(channel, channel.size() - Integer.BYTES);
+        int magic = input.getInt();
+        int version = input.getInt();
+        if (magic != MAGIC || (version != VERSION && version != PACKED_TYPE_VERSION)) {
+            throw new IOException("지원하지 않는 스냅샷 형식입니다. version: " + version);
+        }
+        long lastSequence = input.getLong();
+        long userCount = input.getLong();
+        long historyCount = input.getLong();
+
+        for (long i = 0; i < userCount; i++) {
+            balances.accept(input.getLong(), input.getLong(), input.getLong());
+        }
+        for (long i = 0; i < historyCount; i++) {
+            long id;
+            int type;
+            if (version == PACKED_TYPE_VERSION) {
+                long idAndType = input.getLong();
+                id = idAndType >>> 1;
+                type = (int) (idAndType & 1);
+            } else {
+                id = input.getLong();
+                type = (int) input.getLong();
+            }
+            histories.accept(new PointHistory(id, input.getLong(), input.getLong(), TYPES[type], input.getLong()));
+        }
+        return lastSequence;
+    }
+
+    @FunctionalInterface
+    interface BalanceConsumer {
+        void accept(long userId, long point, long updateMillis);
+    }
+
+    /**
+     * 파일을 WINDOW_SIZE 단위로 매핑해 순서대로 쓴다. 창을 넘길 때마다 쓴 영역을 체크섬에 반영하고 force 한다.
+     */
+    private static final class MappedOutput {
+        private final FileChannel channel;
+        private final long size;
+        private final CRC32C checksum = new CRC32C();
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedOutput(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        void putInt(int value) {
+            window(Integer.BYTES).putInt(value);
+        }
+
+        void putLong(long value) {
+            window(Long.BYTES).putLong(value);
+        }
+
+        int finish() {
+            closeWindow();
+            return (int) checksum.getValue();
+        }
+
+        private MappedByteBuffer window(int bytes) {
+            if (window == null || window.remaining() < bytes) {
+                long position = window == null ? 0L : windowStart + window.position();
+                closeWindow();
+                try {
+                    window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.min(WINDOW_SIZE, size - position));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                windowStart = position;
+            }
+            return window;
+        }
+
+        private void closeWindow() {
+            if (window != null) {
+                checksum.update(window.duplicate().flip());
+                window.force();
+            }
+        }
+    }
+
+    private static final class MappedInput {
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedInput(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        int getInt() throws IOException {
+            return window(Integer.BYTES).getInt();
+        }
+
+        long getLong() throws IOException {
+            return window(Long.BYTES).getLong();
+        }
+
+        private MappedByteBuffer window(int bytes) throws IOException {
+            if (window == null || window.remaining() < bytes) {
+                long position = window == null ? 0L : windowStart + window.position();
+                if (size - position < bytes) {
+                    throw new IOException("스냅샷이 예상보다 짧습니다.");
+                }
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+                windowStart = position;
+            }
+            return window;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.database;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장소 크기를 게이지로 노출한다. 값은 수집할 때마다 계산하며, 모두 O(1) 또는 stripe 수에 비례하는 비용이다.
+ * - point.storage.rows : 저장소별 행 수. 이력은 id 가 순서대로 발급되므로 마지막 id 로 센다.
+ *   잔액 저장소가 크기를 세지 않으면(table) 잔액 저장소의 행 수는 노출하지 않는다.
+ * - point.storage.recovered : WAL 에서 복구한 뒤 아직 저장소에 다시 저장되지 않은 잔액 수
+ * - point.history.users : 이력이 있는 사용자 수
+ */
+@Component
+@RequiredArgsConstructor
+public class PointStorageMetrics implements MeterBinder {
+    private final UserPointStorage userPointStorage;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (userPointStorage.size() != UserPointStorage.UNKNOWN_SIZE) {
+            Gauge.builder("point.storage.rows", userPointStorage, UserPointStorage::size)
+                .description("저장소별 행 수")
+                .tag("storage", "user-point")
+                .register(registry);
+        }
+        Gauge.builder("point.storage.rows", pointHistoryRepository, PointHistoryRepository::lastId)
+            .description("저장소별 행 수")
+            .tag("storage", "point-history")
+            .register(registry);
+        Gauge.builder("point.storage.recovered", userPointRepository, UserPointRepository::recoveredCount)
+            .description("WAL 에서 복구한 뒤 아직 저장소에 다시 저장되지 않은 잔액 수")
+            .register(registry);
+        Gauge.builder("point.history.users", pointHistoryRepository, repository -> repository.userIds().size())
+            .description("이력이 있는 사용자 수")
+            .register(registry);
+    }
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param backend            TABLE 이면 제공된 테이블을, SIMULATED 이면 메모리 저장소와 아래의 지연 설정을 사용한다.
+ * @param seed               지연 난수의 seed. 같은 seed 면 호출 순서별 지연이 항상 같다.
+ * @param userPointSelect    잔액 조회 지연
+ * @param userPointInsert    잔액 저장 지연
+ * @param pointHistoryInsert 이력 기록 지연
+ */
+@ConfigurationProperties(prefix = "point.storage")
+public record PointStorageProperties(
+    @DefaultValue("TABLE") Backend backend,
+    @DefaultValue("0") long seed,
+    @DefaultValue Latency userPointSelect,
+    @DefaultValue Latency userPointInsert,
+    @DefaultValue Latency pointHistoryInsert
+) {
+    public enum Backend {
+        TABLE,
+        SIMULATED
+    }
+
+    public enum Distribution {
+        /**
+         * 항상 fixed 만큼 지연한다.
+         */
+        FIXED,
+        /**
+         * min ~ max 사이에서 고르게 지연한다.
+         */
+        UNIFORM,
+        /**
+         * 중앙값이 median, 로그의 표준편차가 sigma 인 로그 정규 분포. max 가 0 보다 크면 max 에서 자른다.
+         */
+        LOG_NORMAL,
+        /**
+         * 운영에서 기록한 백분위 지연(p50, p99 등) 사이를 선형 보간한 분포.
+         * 첫 백분위보다 낮은 구간은 첫 값, 마지막 백분위보다 높은 구간은 마지막 값을 사용한다.
+         */
+        PERCENTILES
+    }
+
+    /**
+     * 분포별로 필요한 값만 사용한다. 기본값은 지연 없음(FIXED 0ms)이다.
+     */
+    public record Latency(
+        @DefaultValue("FIXED") Distribution distribution,
+        @DefaultValue("0ms") Duration fixed,
+        @DefaultValue("0ms") Duration min,
+        @DefaultValue("0ms") Duration max,
+        @DefaultValue("0ms") Duration median,
+        @DefaultValue("0") double sigma,
+        List<Percentile> percentiles
+    ) {
+        public Latency {
+            percentiles = percentiles == null ? List.of() : List.copyOf(percentiles);
+        }
+
+        public static Latency none() {
+            return fixed(Duration.ZERO);
+        }
+
+        public static Latency fixed(Duration fixed) {
+            return new Latency(Distribution.FIXED, fixed, Duration.ZERO, Duration.ZERO, Duration.ZERO, 0, List.of());
+        }
+    }
+
+    /**
+     * @param percentile 0 ~ 100
+     * @param latency    해당 백분위의 지연
+     */
+    public record Percentile(
+        double percentile,
+        Duration latency
+    ) {
+    }
+}
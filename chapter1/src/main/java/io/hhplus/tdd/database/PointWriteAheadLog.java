@@ -0,0 +1,550 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 이력을 고정 크기 레코드로 세그먼트 파일에 덧붙이는 write-ahead log.
+ * 잔액은 사용자 이력의 합이므로 이력만 기록하고, 시작 시 레코드를 재생해 이력과 잔액을 복구한다.
+ * - 기록 요청은 큐에 쌓고 flusher 스레드 하나가 모아서 write 한 번, fsync 한 번으로 기록한다(group commit).
+ * - PointHistoryWriter 가 테이블에 기록하는 순서와 같은 순서로 기록하므로, n 번째 레코드의 이력 id 는 n 이다.
+ * - 기록에 한 번 실패하면(fail-stop) 이후의 기록을 모두 거절한다. 실패한 레코드 뒤에 이어 쓰면 레코드 순번과 이력 id 가 어긋나기 때문이다.
+ * - 마지막 세그먼트 끝의 손상된 레코드는 기록 도중 중단된 꼬리(torn tail)로 보고 잘라낸다.
+ *   그 뒤에 유효한 레코드가 있거나 중간 세그먼트가 손상되었다면 복구하지 않고 시작을 중단한다.
+ * - 주기적으로 스냅샷을 남기고, 시작 시 가장 최근 스냅샷을 읽은 뒤 그 이후의 레코드만 재생한다.
+ *   최근 스냅샷 두 개를 남기고, 그중 오래된 스냅샷에 모두 반영된 세그먼트는 삭제한다.
+ *
+ * 레코드 형식(32 bytes): crc32c(int) | type(byte) | padding(3 bytes) | userId(long) | amount(long) | updateMillis(long)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PointWriteAheadLog implements SmartLifecycle {
+    static final int RECORD_SIZE = 32;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int READ_BUFFER_RECORDS = 32 * 1024;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+    private static final int RETAINED_SNAPSHOTS = 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final CompletableFuture<Void> DURABLE = CompletableFuture.completedFuture(null);
+
+    private final PointWriteAheadLogProperties properties;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+    private volatile boolean running;
+    private volatile long durableSequence;
+    private volatile IOException failure;
+    private boolean stopped;
+    private Thread flusher;
+    private ScheduledExecutorService snapshotScheduler;
+    private ByteBuffer writeBuffer;
+    private FileChannel segment;
+    private long segmentBytes;
+    private long nextSequence = 1;
+
+    /**
+     * 레코드를 기록 대기열에 추가하고, fsync 까지 끝나면 완료되는 future 를 반환한다.
+     * 비활성화 상태에서는 이미 완료된 future 를 반환하고, 이전에 기록에 실패했다면 실패한 future 를 반환한다.
+     * 시작 전에 추가한 레코드는 복구가 끝난 뒤 flusher 가 기록한다. 종료가 시작된 뒤에는 기록 순서를 지키기 위해
+     * 대기열에 넣지 않고 거절한다. 거절은 기록 실패가 아니므로 WAL 을 멈추지(fail-stop) 않는다.
+     */
+    public CompletableFuture<Void> append(long userId, long amount, TransactionType type, long updateMillis) {
+        if (!properties.enabled()) {
+            return DURABLE;
+        }
+        if (failure != null) {
+            return CompletableFuture.failedFuture(writeFailed(failure));
+        }
+
+        PendingRecord pending = new PendingRecord(userId, amount, type, updateMillis, new CompletableFuture<>());
+        appendLock.lock();
+        try {
+            if (stopped) {
+                return CompletableFuture.failedFuture(rejected());
+            }
+            queue.add(pending);
+        } finally {
+            appendLock.unlock();
+        }
+
+        return pending.durable();
+    }
+
+    /**
+     * 현재 상태의 스냅샷을 남기고 오래된 스냅샷과 세그먼트를 정리한다.
+     * 스냅샷은 인덱스에 기록되고 WAL 에도 fsync 된 이력까지만 담으므로, 스냅샷이 WAL 보다 앞서지 않는다.
+     */
+    public Path snapshot() throws IOException {
+        long lastSequence = Math.min(pointHistoryRepository.lastId(), durableSequence);
+        long startedAt = System.nanoTime();
+        Path snapshot = PointSnapshot.write(properties.directory(), lastSequence, pointHistoryRepository);
+        // 이름을 바꾼 것이 디스크에 반영되기 전에 세그먼트를 지우면, 장애 시 스냅샷도 세그먼트도 없이 이력을 잃는다.
+        forceDirectory();
+        log.info("스냅샷 기록 완료. lastSequence: {}, elapsed: {}ms",
+            lastSequence, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        List<Path> snapshots = PointSnapshot.snapshots(properties.directory());
+        int retained = Math.max(0, snapshots.size() - RETAINED_SNAPSHOTS);
+        for (Path old : snapshots.subList(0, retained)) {
+            Files.delete(old);
+        }
+        deleteSegmentsUpTo(PointSnapshot.lastSequence(snapshots.get(retained)));
+        return snapshot;
+    }
+
+    /**
+     * 디렉터리의 세그먼트를 순서대로 읽어 유효한 레코드를 순번과 함께 전달한다. 순번은 세그먼트 파일 이름(첫 레코드의 순번)에서 시작한다.
+     * 유효하지 않은 레코드를 만나면 멈추고, 마지막으로 읽은 세그먼트와 그 안의 유효한 길이를 반환한다.
+     */
+    public static Tail replay(Path directory, RecordConsumer consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * READ_BUFFER_RECORDS);
+        CRC32C checksum = new CRC32C();
+        List<Path> segments = segments(directory);
+        long firstSequence = segments.isEmpty() ? 0L : firstSequence(segments.get(0));
+        long sequence = 0;
+        Path tailSegment = null;
+        long tailBytes = 0;
+
+        for (Path path : segments) {
+            sequence = firstSequence(path) - 1;
+            tailSegment = path;
+            tailBytes = 0;
+            boolean torn = false;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                while (tailBytes < size && !torn) {
+                    buffer.clear();
+                    while (buffer.hasRemaining() && channel.read(buffer, tailBytes + buffer.position()) > 0) {
+                        // 버퍼를 채울 때까지 읽는다.
+                    }
+                    buffer.flip();
+
+                    int offset = 0;
+                    while (offset + RECORD_SIZE <= buffer.limit() && isValid(buffer, offset, checksum)) {
+                        consumer.accept(
+                            ++sequence,
+                            buffer.getLong(offset + 8),
+                            buffer.getLong(offset + 16),
+                            TYPES[buffer.get(offset + 4) - 1],
+                            buffer.getLong(offset + 24)
+                        );
+                        offset += RECORD_SIZE;
+                    }
+                    tailBytes += offset;
+                    torn = offset < buffer.limit() || buffer.limit() == 0;
+                }
+            }
+
+            if (torn) {
+                break;
+            }
+        }
+
+        return new Tail(firstSequence, sequence, tailSegment, tailBytes);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            running = true;
+            return;
+        }
+
+        try {
+            Files.createDirectories(properties.directory());
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 을 열 수 없습니다. directory: " + properties.directory(), e);
+        }
+
+        writeBuffer = ByteBuffer.allocateDirect(RECORD_SIZE * properties.maxBatchSize());
+        appendLock.lock();
+        try {
+            stopped = false;
+        } finally {
+            appendLock.unlock();
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "point-wal-flusher");
+        flusher.start();
+
+        long interval = properties.snapshotInterval().toMillis();
+        if (interval > 0) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("point-snapshot").factory());
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 새 레코드를 더 받지 않도록 막은 뒤 flusher 가 대기열을 비우고 끝날 때까지 기다린다.
+     * flusher 가 끝나기 전에는 다른 스레드가 기록하지 않으므로 레코드 순번과 이력 id 의 순서가 유지된다.
+     */
+    @Override
+    public void stop() {
+        appendLock.lock();
+        try {
+            stopped = true;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+            try {
+                snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        running = false;
+        if (flusher == null) {
+            List<PendingRecord> notStarted = new ArrayList<>();
+            queue.drainTo(notStarted);
+            notStarted.forEach(pending -> pending.durable().completeExceptionally(rejected()));
+            return;
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainRemaining();
+
+        writeLock.lock();
+        try {
+            segment.close();
+            segment = null;
+        } catch (IOException e) {
+            log.error("WAL 세그먼트를 닫지 못했습니다.", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * PointHistoryWriter 보다 먼저 시작해 복구를 마치고, 남은 이력을 모두 넘겨받은 뒤에 멈추도록 더 낮은 phase 를 사용한다.
+     */
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+    /**
+     * 가장 최근 스냅샷을 읽은 뒤 그 이후의 레코드만 재생한다.
+     * 복구한 이력은 id 순서대로 인덱스에 넣고, 스냅샷의 잔액에 이후 이력을 더해 사용자별 잔액을 복구한다.
+     * 복구가 끝나면 마지막 세그먼트의 유효한 끝에서부터 이어서 기록한다. 끝이 아닌 곳이 손상되었다면 시작하지 않는다.
+     */
+    private void recover() throws IOException {
+        long startedAt = System.nanoTime();
+        long snapshotSequence = PointSnapshot.loadLatest(
+            properties.directory(),
+            userPointRepository::restore,
+            pointHistoryRepository::restore
+        );
+        Tail tail = replay(properties.directory(), (sequence, userId, amount, type, updateMillis) -> {
+            if (sequence <= snapshotSequence) {
+                return;
+            }
+            pointHistoryRepository.restore(new PointHistory(sequence, userId, amount, type, updateMillis));
+            userPointRepository.restore(userId, amount, type, updateMillis);
+        });
+
+        if (tail.segment() != null && (tail.firstSequence() > snapshotSequence + 1 || tail.lastSequence() < snapshotSequence)) {
+            throw new IllegalStateException("WAL 세그먼트가 스냅샷과 이어지지 않습니다. snapshot: %d, segments: %d ~ %d"
+                .formatted(snapshotSequence, tail.firstSequence(), tail.lastSequence()));
+        }
+
+        nextSequence = Math.max(tail.lastSequence(), snapshotSequence) + 1;
+        durableSequence = nextSequence - 1;
+        if (tail.segment() == null) {
+            openSegment();
+        } else {
+            verifyTornTail(tail);
+            openTail(tail);
+        }
+
+        log.info("WAL 복구 완료. snapshot: {}, records: {}, users: {}, elapsed: {}ms",
+            snapshotSequence, tail.lastSequence(), userPointRepository.recoveredCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("스냅샷 기록 실패", e);
+        }
+    }
+
+    /**
+     * 다음 세그먼트의 첫 순번이 lastSequence + 1 이하인 세그먼트는 모든 레코드가 스냅샷에 반영되어 있다.
+     * 기록 중인 마지막 세그먼트는 다음 세그먼트가 없으므로 삭제되지 않는다.
+     */
+    private void deleteSegmentsUpTo(long lastSequence) throws IOException {
+        List<Path> segments = segments(properties.directory());
+        for (int i = 0; i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= lastSequence + 1; i++) {
+            Files.delete(segments.get(i));
+        }
+    }
+
+    /**
+     * 재생이 멈춘 곳이 마지막 세그먼트이고 그 뒤에 유효한 레코드가 하나도 없을 때만 기록 도중 중단된 꼬리로 본다.
+     * 그 외의 손상은 잘라내면 fsync 까지 끝난 이력을 잃으므로 시작을 중단한다.
+     */
+    private void verifyTornTail(Tail tail) throws IOException {
+        List<Path> segments = segments(properties.directory());
+        Path last = segments.get(segments.size() - 1);
+        if (!tail.segment().equals(last)) {
+            throw new IllegalStateException("WAL 중간 세그먼트에 손상된 레코드가 있습니다. segment: %s, offset: %d, lastSequence: %d"
+                .formatted(tail.segment(), tail.bytes(), tail.lastSequence()));
+        }
+        if (hasValidRecordAfter(tail.segment(), tail.bytes())) {
+            throw new IllegalStateException("WAL 의 손상된 레코드 뒤에 유효한 레코드가 있습니다. segment: %s, offset: %d, lastSequence: %d"
+                .formatted(tail.segment(), tail.bytes(), tail.lastSequence()));
+        }
+    }
+
+    private static boolean hasValidRecordAfter(Path path, long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        CRC32C checksum = new CRC32C();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (long position = offset + RECORD_SIZE; position + RECORD_SIZE <= channel.size(); position += RECORD_SIZE) {
+                buffer.clear();
+                while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+                    // 레코드 하나를 채울 때까지 읽는다.
+                }
+                if (!buffer.hasRemaining() && isValid(buffer, 0, checksum)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void openTail(Tail tail) throws IOException {
+        segment = FileChannel.open(tail.segment(), StandardOpenOption.WRITE);
+        if (segment.size() > tail.bytes()) {
+            log.warn("WAL 끝의 불완전한 레코드를 잘라냅니다. segment: {}, bytes: {}", tail.segment(), segment.size() - tail.bytes());
+            segment.truncate(tail.bytes());
+            segment.force(true);
+        }
+        segmentBytes = tail.bytes();
+    }
+
+    private void openSegment() throws IOException {
+        Path path = properties.directory().resolve("%020d%s".formatted(nextSequence, SEGMENT_SUFFIX));
+        segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentBytes = 0;
+        forceDirectory();
+    }
+
+    /**
+     * 새 세그먼트와 스냅샷 파일의 디렉터리 엔트리도 디스크에 반영한다. 디렉터리 fsync 를 지원하지 않는 플랫폼에서는 건너뛴다.
+     */
+    private void forceDirectory() {
+        try (FileChannel directory = FileChannel.open(properties.directory(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            log.debug("WAL 디렉터리 fsync 를 건너뜁니다. directory: {}", properties.directory(), e);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingRecord> batch = new ArrayList<>(properties.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.maxBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void drainRemaining() {
+        List<PendingRecord> batch = new ArrayList<>();
+        while (queue.drainTo(batch, properties.maxBatchSize()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 배치를 한 번에 쓰고 fsync 한 뒤 배치의 모든 future 를 완료한다.
+     * 쓰기에 실패하면 일부만 쓰인 레코드를 마지막으로 성공한 위치까지 잘라내고, 이후의 배치는 쓰지 않고 모두 실패시킨다.
+     */
+    private void write(List<PendingRecord> batch) {
+        writeLock.lock();
+        try {
+            if (failure != null) {
+                fail(batch, failure);
+                return;
+            }
+            if (segment == null) {
+                batch.forEach(pending -> pending.durable().completeExceptionally(rejected()));
+                return;
+            }
+            if (segmentBytes > 0 && segmentBytes + (long) batch.size() * RECORD_SIZE > properties.segmentSize().toBytes()) {
+                segment.close();
+                openSegment();
+            }
+
+            writeBuffer.clear();
+            for (PendingRecord pending : batch) {
+                encode(pending);
+            }
+            writeBuffer.flip();
+
+            long position = segmentBytes;
+            while (writeBuffer.hasRemaining()) {
+                position += segment.write(writeBuffer, position);
+            }
+            segment.force(false);
+            segmentBytes = position;
+            nextSequence += batch.size();
+            durableSequence = nextSequence - 1;
+            batch.forEach(pending -> pending.durable().complete(null));
+        } catch (IOException e) {
+            log.error("WAL 기록 실패. 이후의 기록을 모두 거절합니다. records: {}, nextSequence: {}", batch.size(), nextSequence, e);
+            failure = e;
+            discardUnacknowledged();
+            fail(batch, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 실패한 배치 중 디스크에 남았을 수 있는 부분을 잘라낸다. 잘라내지 못하면 재시작 시 실패 응답을 받은 기록이 복구될 수 있다.
+     */
+    private void discardUnacknowledged() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.truncate(segmentBytes);
+            segment.force(false);
+        } catch (IOException e) {
+            log.error("실패한 WAL 배치를 잘라내지 못했습니다. segmentBytes: {}", segmentBytes, e);
+        }
+    }
+
+    private static void fail(List<PendingRecord> batch, IOException e) {
+        UncheckedIOException error = writeFailed(e);
+        batch.forEach(pending -> pending.durable().completeExceptionally(error));
+    }
+
+    private static RejectedExecutionException rejected() {
+        return new RejectedExecutionException("WAL 이 멈춰 있어 기록할 수 없습니다.");
+    }
+
+    private static UncheckedIOException writeFailed(IOException e) {
+        return new UncheckedIOException("WAL 에 기록하지 못했습니다. 재시작해 복구하기 전까지 충전/사용을 처리할 수 없습니다.", e);
+    }
+
+    private void encode(PendingRecord pending) {
+        int start = writeBuffer.position();
+        writeBuffer.putInt(0)
+            .put((byte) (pending.type().ordinal() + 1))
+            .put((byte) 0)
+            .putShort((short) 0)
+            .putLong(pending.userId())
+            .putLong(pending.amount())
+            .putLong(pending.updateMillis());
+        writeBuffer.putInt(start, checksum(writeBuffer, start, checksum));
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int offset, CRC32C checksum) {
+        int type = buffer.get(offset + 4);
+        return type >= 1 && type <= TYPES.length && buffer.getInt(offset) == checksum(buffer, offset, checksum);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, CRC32C checksum) {
+        checksum.reset();
+        checksum.update(buffer.slice(offset + CHECKSUM_SIZE, RECORD_SIZE - CHECKSUM_SIZE));
+        return (int) checksum.getValue();
+    }
+
+    private static long firstSequence(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, long userId, long amount, TransactionType type, long updateMillis);
+    }
+
+    /**
+     * @param firstSequence 첫 세그먼트의 첫 레코드 순번. 세그먼트가 없으면 0
+     * @param lastSequence  마지막으로 읽은 유효한 레코드의 순번
+     * @param segment       마지막으로 읽은 세그먼트. 세그먼트가 없으면 null
+     * @param bytes         마지막 세그먼트에서 유효한 레코드가 차지하는 길이
+     */
+    public record Tail(long firstSequence, long lastSequence, Path segment, long bytes) {
+    }
+
+    private record PendingRecord(
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis,
+        CompletableFuture<Void> durable
+    ) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled          true 이면 포인트 이력을 WAL 에 기록하고, 시작 시 WAL 로 잔액과 이력을 복구한다.
+ * @param directory        세그먼트 파일을 둘 디렉터리
+ * @param segmentSize      세그먼트 하나의 최대 크기. 넘으면 다음 세그먼트로 넘어간다.
+ * @param maxBatchSize     한 번의 fsync 로 묶어서 기록할 최대 레코드 수
+ * @param snapshotInterval 잔액과 이력 스냅샷을 남기는 주기. 0 이면 스냅샷을 남기지 않는다.
+ */
+@ConfigurationProperties(prefix = "point.wal")
+public record PointWriteAheadLogProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("data/wal") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("1024") int maxBatchSize,
+    @DefaultValue("10m") Duration snapshotInterval
+) {
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이력은 PointHistoryRepository 의 인덱스가 보관하므로 id 만 발급하고, 호출마다 point.storage 에 설정한 분포의 지연을 더한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.storage", name = "backend", havingValue = "simulated")
+public class SimulatedPointHistoryStorage implements PointHistoryStorage {
+    private final AtomicLong cursor = new AtomicLong();
+    private final LatencySimulator insertLatency;
+
+    public SimulatedPointHistoryStorage(PointStorageProperties properties) {
+        this.insertLatency = new LatencySimulator(properties.pointHistoryInsert(), properties.seed() + 2);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        insertLatency.pause();
+        return new PointHistory(cursor.incrementAndGet(), userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액을 메모리에 보관하고, 호출마다 point.storage 에 설정한 분포의 지연을 더한다.
+ * 같은 seed 면 호출 순서별 지연이 항상 같으므로 부하 테스트와 벤치마크를 같은 조건으로 반복할 수 있다.
+ * 잔액은 {@link LongBalanceMap} 에 primitive 로 보관하고, UserPoint 는 조회/저장 결과를 반환할 때만 만든다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.storage", name = "backend", havingValue = "simulated")
+public class SimulatedUserPointStorage implements UserPointStorage {
+    private final LongBalanceMap points = new LongBalanceMap();
+    private final LatencySimulator selectLatency;
+    private final LatencySimulator insertLatency;
+
+    public SimulatedUserPointStorage(PointStorageProperties properties) {
+        this.selectLatency = new LatencySimulator(properties.userPointSelect(), properties.seed());
+        this.insertLatency = new LatencySimulator(properties.userPointInsert(), properties.seed() + 1);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        selectLatency.pause();
+        UserPoint userPoint = points.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        insertLatency.pause();
+        long updateMillis = System.currentTimeMillis();
+        points.put(id, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    @Override
+    public int size() {
+        return points.size();
+    }
+}
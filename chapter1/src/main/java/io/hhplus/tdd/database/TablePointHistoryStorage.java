@@ -0,0 +1,22 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 제공된 PointHistoryTable 을 그대로 사용한다. 호출마다 0~300ms 의 무작위 지연이 있다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.storage", name = "backend", havingValue = "table", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TablePointHistoryStorage implements PointHistoryStorage {
+    private final PointHistoryTable pointHistoryTable;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+    }
+}
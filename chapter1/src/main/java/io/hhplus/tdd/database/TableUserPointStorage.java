@@ -0,0 +1,32 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 제공된 UserPointTable 을 그대로 사용한다. 호출마다 조회 0~200ms, 저장 0~300ms 의 무작위 지연이 있다.
+ * 테이블은 크기를 알려주지 않고, 크기를 세려고 사용자 id 를 따로 모으면 사용자 수만큼 메모리를 더 쓰므로 size 를 세지 않는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.storage", name = "backend", havingValue = "table", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TableUserPointStorage implements UserPointStorage {
+    private final UserPointTable userPointTable;
+
+    @Override
+    public UserPoint selectById(long id) {
+        return userPointTable.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return userPointTable.insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public int size() {
+        return UNKNOWN_SIZE;
+    }
+}
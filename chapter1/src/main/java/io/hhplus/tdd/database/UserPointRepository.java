@@ -0,0 +1,48 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * UserPointStorage 앞에 두는 잔액 저장소.
+ * WAL 에서 복구한 잔액은 저장소에 다시 쓰지 않고(테이블은 사용자당 최대 300ms) 따로 보관해 조회에 사용하고,
+ * 해당 사용자의 잔액이 저장소에 새로 저장되면 제거한다.
+ * 복구한 사용자가 수백만 명이어도 항목마다 객체를 만들지 않도록 {@link LongBalanceMap} 에 보관한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPointRepository {
+    private final UserPointStorage userPointStorage;
+    private final LongBalanceMap recovered = new LongBalanceMap();
+
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = recovered.get(id);
+        return userPoint != null ? userPoint : userPointStorage.selectById(id);
+    }
+
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = userPointStorage.insertOrUpdate(id, amount);
+        recovered.remove(id);
+        return userPoint;
+    }
+
+    /**
+     * 복구한 잔액을 등록한다. 요청을 받기 전, 시작 과정에서만 호출한다.
+     */
+    public void restore(long id, long point, long updateMillis) {
+        recovered.put(id, point, updateMillis);
+    }
+
+    /**
+     * 복구한 잔액에 이력 한 건을 반영한다. 요청을 받기 전, 시작 과정에서만 호출한다.
+     */
+    public void restore(long id, long amount, TransactionType type, long updateMillis) {
+        recovered.add(id, type == TransactionType.CHARGE ? amount : -amount, updateMillis);
+    }
+
+    public int recoveredCount() {
+        return recovered.size();
+    }
+}
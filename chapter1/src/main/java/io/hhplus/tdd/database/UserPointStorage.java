@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 잔액 저장소. point.storage.backend 설정에 따라 구현이 선택된다.
+ * - {@link TableUserPointStorage} : 제공된 UserPointTable (기본값)
+ * - {@link SimulatedUserPointStorage} : 메모리 저장소 + 설정한 분포의 지연
+ */
+public interface UserPointStorage {
+    int UNKNOWN_SIZE = -1;
+
+    /**
+     * 저장된 잔액이 없으면 잔액 0 을 반환한다.
+     */
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+
+    /**
+     * 잔액이 저장된 사용자 수. 세지 않는 저장소는 {@link #UNKNOWN_SIZE} 를 반환한다.
+     */
+    int size();
+}
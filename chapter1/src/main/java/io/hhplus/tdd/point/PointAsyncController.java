@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link PointController} 의 조회/충전/사용을 비동기로 처리한다.
+ * 결과를 기다리는 동안 요청 스레드를 반환하며, 실패는 동기 API 와 같이 ApiControllerAdvice 에서 응답으로 변환된다.
+ */
+@RestController
+@RequestMapping("/point/async")
+@RequiredArgsConstructor
+public class PointAsyncController {
+    private final PointService pointService;
+
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return pointService.getPointAsync(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointService.chargeAsync(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointService.useAsync(id, amount);
+    }
+}
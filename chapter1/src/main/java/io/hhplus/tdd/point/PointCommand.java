@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 사용자 한 명에 대한 충전/사용 요청. 처리 결과(반영 후 포인트 또는 검증 에러)는 result 로 전달된다.
+ */
+public record PointCommand(
+    TransactionType type,
+    long amount,
+    CompletableFuture<UserPoint> result
+) {
+    public PointCommand(TransactionType type, long amount) {
+        this(type, amount, new CompletableFuture<>());
+    }
+
+    public long applyTo(long balance) {
+        return switch (type) {
+            case CHARGE -> balance + amount;
+            case USE -> balance - amount;
+        };
+    }
+
+    /**
+     * 처리 결과를 기다린다. 처리 중 발생한 예외는 CompletionException 으로 감싸지 않고 그대로 던진다.
+     * join 은 실패한 결과를 CompletionException 으로 감싸면서 스택 트레이스를 채우므로,
+     * 완료를 기다린 뒤 state/exceptionNow 로 결과를 꺼내 스택 트레이스 없는 검증 예외를 그대로 던진다.
+     */
+    public UserPoint await() {
+        if (!result.isDone()) {
+            result.handle((userPoint, e) -> null).join();
+        }
+        return switch (result.state()) {
+            case SUCCESS -> result.resultNow();
+            case FAILED -> throw rethrow(result.exceptionNow());
+            default -> result.join();
+        };
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(e);
+    }
+}
@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ConcurrencyControl;
+import io.hhplus.tdd.database.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 락 안에서 충전/사용 요청을 처리한다.
+ * 여러 요청을 한 번에 처리할 때도 잔액 조회와 저장은 한 번만 하고,
+ * 요청 순서대로 누적 잔액에 대해 검증해 실패한 요청만 에러로 완료한다.
+ * 잔액을 저장한 뒤 저장 시각으로 이력(WAL)을 기록하므로, 응답/잔액/이력/WAL 이 모두 같은 시각을 가진다.
+ * WAL 에 fsync 된 요청만 성공으로 완료하고 캐시에 반영한다. WAL 기록에 실패하면 잔액을 fsync 된 요청까지로 되돌리고
+ * 나머지 요청은 에러로 완료하므로, 실패 응답을 받은 요청이 잔액에 남지 않는다.
+ * 되돌리기 전까지 캐시를 거치지 않은 조회는 아직 WAL 에 기록되지 않은 잔액을 볼 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointCommandProcessor {
+    static final String POINT_LOCK_KEY = "'userPoint-' + #id";
+
+    private final UserPointRepository userPointRepository;
+    private final PointValidator pointValidator;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final UserPointCache userPointCache;
+    private final ConcurrentMap<Long, List<PointCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+    /**
+     * 결합(combining) 모드에서 락을 잡기 전에 요청을 사용자별 대기열에 넣는다.
+     * 대기열은 compute 안에서만 변경되므로 {@link #drain(long)} 의 remove 와 원자적으로 동작한다.
+     */
+    public PointCommand enqueue(long id, TransactionType type, long amount) {
+        PointCommand command = new PointCommand(type, amount);
+        pendingCommands.compute(id, (key, commands) -> {
+            List<PointCommand> pending = commands == null ? new ArrayList<>() : commands;
+            pending.add(command);
+            return pending;
+        });
+        return command;
+    }
+
+    /**
+     * 아직 처리되지 않은 요청을 대기열에서 뺀다. 이미 다른 스레드가 가져갔다면 false 를 반환한다.
+     */
+    public boolean cancel(long id, PointCommand command) {
+        boolean[] removed = {false};
+        pendingCommands.computeIfPresent(id, (key, commands) -> {
+            removed[0] = commands.remove(command);
+            return commands.isEmpty() ? null : commands;
+        });
+        return removed[0];
+    }
+
+    /**
+     * 락을 잡은 스레드가 해당 사용자의 대기열을 통째로 가져가 한 번에 처리한다.
+     * 먼저 락을 잡은 스레드가 이미 처리했다면 할 일이 없다.
+     */
+    @ConcurrencyControl(key = POINT_LOCK_KEY, timeout = 10L, timeUnit = TimeUnit.SECONDS)
+    public void drain(long id) {
+        List<PointCommand> commands = pendingCommands.remove(id);
+        if (commands != null) {
+            apply(id, commands);
+        }
+    }
+
+    @ConcurrencyControl(key = POINT_LOCK_KEY, timeout = 10L, timeUnit = TimeUnit.SECONDS)
+    public void process(long id, List<PointCommand> commands) {
+        apply(id, commands);
+    }
+
+    private void apply(long id, List<PointCommand> commands) {
+        try {
+            applyInOrder(id, commands);
+        } catch (RuntimeException e) {
+            commands.forEach(command -> command.result().completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private void applyInOrder(long id, List<PointCommand> commands) {
+        UserPoint initial = userPointCache.get(id, userPointRepository::selectById);
+        UserPoint current = initial;
+        List<PointCommand> accepted = new ArrayList<>(commands.size());
+        long[] balances = new long[commands.size()];
+
+        for (PointCommand command : commands) {
+            try {
+                validate(current, command);
+            } catch (RuntimeException e) {
+                command.result().completeExceptionally(e);
+                continue;
+            }
+
+            long balance = command.applyTo(current.point());
+            balances[accepted.size()] = balance;
+            accepted.add(command);
+            current = new UserPoint(id, balance, current.updateMillis());
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        UserPoint saved = userPointRepository.insertOrUpdate(id, current.point());
+        List<CompletableFuture<Void>> durables = new ArrayList<>(accepted.size());
+        for (PointCommand command : accepted) {
+            durables.add(pointHistoryWriter.append(id, command.amount(), command.type(), saved.updateMillis()));
+        }
+
+        int durableCount = awaitDurable(accepted, durables);
+        if (durableCount == accepted.size()) {
+            userPointCache.put(saved);
+        } else {
+            long durableBalance = durableCount == 0 ? initial.point() : balances[durableCount - 1];
+            userPointCache.put(userPointRepository.insertOrUpdate(id, durableBalance));
+        }
+
+        int last = accepted.size() - 1;
+        for (int i = 0; i < durableCount; i++) {
+            accepted.get(i).result().complete(i == last ? saved : new UserPoint(id, balances[i], saved.updateMillis()));
+        }
+    }
+
+    /**
+     * 요청 순서대로 WAL fsync 를 기다려 fsync 된 요청 수를 반환한다.
+     * WAL 은 한 번 실패하면 이후의 기록을 모두 거절하므로, 처음 실패한 요청부터 나머지는 모두 에러로 완료한다.
+     */
+    private int awaitDurable(List<PointCommand> accepted, List<CompletableFuture<Void>> durables) {
+        for (int i = 0; i < accepted.size(); i++) {
+            try {
+                durables.get(i).join();
+            } catch (CompletionException e) {
+                for (PointCommand command : accepted.subList(i, accepted.size())) {
+                    command.result().completeExceptionally(e.getCause());
+                }
+                return i;
+            }
+        }
+        return accepted.size();
+    }
+
+    private void validate(UserPoint current, PointCommand command) {
+        switch (command.type()) {
+            case CHARGE -> pointValidator.validateCharge(current, command.amount());
+            case USE -> pointValidator.validateUse(current, command.amount());
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
@@ -13,6 +22,7 @@ import java.util.List;
 public class PointController {
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
     private final PointService pointService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("{id}")
     public UserPoint point(
@@ -21,11 +31,60 @@ public class PointController {
         return pointService.getPoint(id);
     }
 
+    /**
+     * 여러 사용자의 포인트를 한 번에 조회한다. 예: GET /point?ids=1,2,3
+     * 요청한 id 순서대로 id 마다 하나씩 반환하며, 중복 id 에는 같은 값을 반복해 반환한다.
+     */
+    @GetMapping(params = "ids")
+    public List<UserPoint> points(
+            @RequestParam List<Long> ids
+    ) {
+        return pointService.getPoints(ids);
+    }
+
+    /**
+     * 쿼리 스트링에 담기 어려운 많은 사용자를 요청 본문(id 배열)으로 받아 조회한다.
+     */
+    @PostMapping("query")
+    public List<UserPoint> queryPoints(
+            @RequestBody List<Long> ids
+    ) {
+        return pointService.getPoints(ids);
+    }
+
+    /**
+     * 조건을 생략하면 전체 이력을 반환한다. 다음 페이지는 마지막 이력의 id 를 afterId 로 넘겨 조회한다.
+     */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        return pointService.getHistories(id, new PointHistoryQuery(afterId, limit, from, to, type));
+    }
+
+    /**
+     * 사용자의 전체 이력을 한 줄에 하나씩 NDJSON 으로 내려준다. 목록을 만들지 않고 한 건씩 기록한다.
+     */
+    @GetMapping("{id}/histories/stream")
+    public ResponseEntity<StreamingResponseBody> streamHistory(
             @PathVariable long id
     ) {
-        return pointService.getHistories(id);
+        return ndjson(List.of(id));
+    }
+
+    /**
+     * 여러 사용자의 전체 이력을 사용자 순서대로 이어서 NDJSON 으로 내려준다.
+     */
+    @GetMapping("histories/stream")
+    public ResponseEntity<StreamingResponseBody> streamHistories(
+            @RequestParam List<Long> ids
+    ) {
+        return ndjson(ids);
     }
 
     @PatchMapping("{id}/charge")
@@ -43,4 +102,38 @@ public class PointController {
     ) {
         return pointService.use(id, amount);
     }
+
+    /**
+     * 여러 사용자의 충전/사용 요청을 한 번에 처리한다. 일부 항목이 실패해도 200 으로 항목별 결과를 반환한다.
+     */
+    @PostMapping("batch")
+    public List<PointOperationResult> batch(
+            @RequestBody List<PointOperation> operations
+    ) {
+        return pointService.batch(operations);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(List<Long> ids) {
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                for (long id : ids) {
+                    try (Stream<PointHistory> histories = pointService.streamHistories(id)) {
+                        Iterator<PointHistory> iterator = histories.iterator();
+                        while (iterator.hasNext()) {
+                            writer.writeValue(generator, iterator.next());
+                            generator.writeRaw('\n');
+                        }
+                    }
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
 }
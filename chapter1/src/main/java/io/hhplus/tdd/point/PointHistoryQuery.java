@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이력 조회 조건. 모든 조건은 생략할 수 있다.
+ *
+ * @param afterId 이 id 보다 큰 이력만 조회한다(커서). 이전 페이지의 마지막 id 를 넘긴다.
+ * @param limit   최대 조회 건수 (1 ~ {@link #MAX_LIMIT})
+ * @param from    updateMillis 가 이 값 이상인 이력만 조회한다.
+ * @param to      updateMillis 가 이 값 이하인 이력만 조회한다.
+ * @param type    해당 종류(CHARGE/USE)의 이력만 조회한다.
+ */
+public record PointHistoryQuery(
+    Long afterId,
+    Integer limit,
+    Long from,
+    Long to,
+    TransactionType type
+) {
+    public static final int MAX_LIMIT = 1000;
+
+    public PointHistoryQuery {
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            String errorMessage = "이력 조회 건수는 1 이상 %d 이하여야 합니다. 요청한 건수: %d"
+                .formatted(MAX_LIMIT, limit);
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        if (from != null && to != null && from > to) {
+            String errorMessage = "조회 시작 시각은 종료 시각보다 클 수 없습니다. from: %d, to: %d"
+                .formatted(from, to);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    public static PointHistoryQuery all() {
+        return new PointHistoryQuery(null, null, null, null, null);
+    }
+}
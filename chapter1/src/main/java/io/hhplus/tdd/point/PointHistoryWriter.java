@@ -0,0 +1,241 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointWriteAheadLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 이력을 큐에 쌓아두고 백그라운드 스레드 하나가 배치로 PointHistoryRepository 에 기록한다.
+ * 충전/사용의 락 구간에서 이력 insert 지연(최대 300ms)을 빼기 위한 write-behind 이다.
+ * - 단일 writer 가 FIFO 로 기록하므로 사용자별 기록 순서가 유지되고, 테이블에도 한 스레드만 접근한다.
+ * - 사용자별 마지막 기록의 future 를 보관해 조회 시 자신의 이전 기록이 반영될 때까지 기다릴 수 있다.
+ * - 애플리케이션 종료 시 큐에 남은 이력을 모두 기록한 뒤 종료한다.
+ * - WAL 이 켜져 있으면 대기열에 넣는 순서대로 WAL 에도 기록해, WAL 레코드 순서와 이력 id 순서를 맞춘다.
+ *   WAL 에 fsync 된 이력만 테이블에 기록하고, WAL 기록에 실패한 이력은 건너뛴다.
+ * - 대기 중인 이력은 point.history.max-pending 개로 제한한다. 가득 차면 append 가 자리가 날 때까지 기다리므로
+ *   테이블이 따라오지 못하는 만큼 충전/사용이 느려지고, 밀린 요청은 동시 처리 한도(429)에 걸린다.
+ *   대기 중인 이력 수는 point.history.pending 게이지로 노출한다.
+ * <p>
+ * 이력 id 는 테이블에 기록한 순서대로 발급되고 WAL 레코드 순서와 같아야 하므로 사용자별로 나누어 병렬로 기록하지 않는다.
+ * 그래서 조회가 기다리는 시간은 그 사용자의 이력보다 앞에 쌓인 전체 대기열 길이에 비례하며, max-pending 이 그 상한이다.
+ */
+@Slf4j
+@Component
+public class PointHistoryWriter implements SmartLifecycle, MeterBinder {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointWriteAheadLog pointWriteAheadLog;
+    private final int maxPending;
+    private final Semaphore capacity;
+    private final BlockingQueue<PendingHistory> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentMap<Long, CompletableFuture<PointHistory>> lastWrites = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile boolean running;
+    private volatile boolean drainOnAppend = true;
+    private Thread worker;
+
+    public PointHistoryWriter(PointHistoryRepository pointHistoryRepository, PointWriteAheadLog pointWriteAheadLog, PointProperties pointProperties) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointWriteAheadLog = pointWriteAheadLog;
+        this.maxPending = pointProperties.history().maxPending();
+        this.capacity = new Semaphore(maxPending);
+    }
+
+    /**
+     * 이력을 WAL 과 기록 대기열에 추가하고, WAL 에 fsync 되면 완료되는 future 를 반환한다.
+     * 같은 사용자에 대한 호출은 사용자 락 안에서 순서대로 이루어져야 한다.
+     * writer 가 동작하지 않는 상태(시작 전, 종료 후)에서는 호출한 스레드에서 바로 기록한다.
+     * 종료 중에는 worker 가 끝날 때까지 대기열에 넣기만 하므로 worker 와 동시에 테이블에 기록하지 않는다.
+     * 대기열이 가득 차 있으면 WAL 에 기록하기 전에 자리가 날 때까지 기다린다.
+     * 기다리다 인터럽트되면 WAL 에도 기록하지 않고 실패한 future 를 반환한다.
+     */
+    public CompletableFuture<Void> append(long userId, long amount, TransactionType type, long updateMillis) {
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Void> durable;
+        appendLock.lock();
+        try {
+            durable = pointWriteAheadLog.append(userId, amount, type, updateMillis);
+            PendingHistory pending = new PendingHistory(userId, amount, type, updateMillis, durable, new CompletableFuture<>());
+            lastWrites.put(userId, pending.future());
+            queue.add(pending);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (drainOnAppend) {
+            drainRemaining();
+        }
+
+        return durable;
+    }
+
+    /**
+     * 해당 사용자의 대기 중인 이력이 모두 테이블에 기록될 때까지 기다린다.
+     */
+    public void awaitPending(long userId) {
+        CompletableFuture<PointHistory> last = lastWrites.get(userId);
+        if (last != null) {
+            last.handle((history, e) -> null).join();
+        }
+    }
+
+    /**
+     * 현재 대기 중인 모든 사용자의 이력이 기록될 때까지 기다린다.
+     */
+    public void awaitAll() {
+        for (CompletableFuture<PointHistory> last : List.copyOf(lastWrites.values())) {
+            last.handle((history, e) -> null).join();
+        }
+    }
+
+    /**
+     * 테이블에 기록되기를 기다리는 이력 수. worker 가 기록 중인 배치도 포함한다.
+     */
+    public int pending() {
+        return maxPending - capacity.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.history.pending", this, PointHistoryWriter::pending)
+            .description("테이블에 기록되기를 기다리는 이력 수")
+            .register(registry);
+    }
+
+    @Override
+    public void start() {
+        drainOnAppend = false;
+        running = true;
+        worker = new Thread(this::runWorker, "point-history-writer");
+        worker.start();
+    }
+
+    /**
+     * worker 가 대기열을 비우고 끝날 때까지 기다린 뒤, 그 사이에 추가된 이력을 기록한다.
+     * 이후의 append 는 drainLock 안에서 호출한 스레드가 직접 기록한다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainOnAppend = true;
+        drainRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버가 요청을 더 받지 않게 된 뒤에 멈추도록 낮은 phase 를 사용한다.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void runWorker() {
+        List<PendingHistory> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void drainRemaining() {
+        drainLock.lock();
+        try {
+            List<PendingHistory> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            flush(batch);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * WAL 에 fsync 된 이력만 기록한다. WAL 은 한 번 실패하면 이후의 기록을 모두 거절하므로,
+     * 건너뛰는 이력은 항상 뒤쪽에 몰려 있고 WAL 레코드 순번과 이력 id 가 어긋나지 않는다.
+     */
+    private void flush(List<PendingHistory> batch) {
+        for (PendingHistory pending : batch) {
+            try {
+                pending.durable().join();
+            } catch (CompletionException e) {
+                pending.future().completeExceptionally(e.getCause());
+                lastWrites.remove(pending.userId(), pending.future());
+                capacity.release();
+                continue;
+            }
+
+            try {
+                PointHistory history = pointHistoryRepository.insert(
+                    pending.userId(),
+                    pending.amount(),
+                    pending.type(),
+                    pending.updateMillis()
+                );
+                pending.future().complete(history);
+            } catch (Exception e) {
+                log.error("포인트 이력 기록 실패. userId: {}, amount: {}, type: {}", pending.userId(), pending.amount(), pending.type(), e);
+                pending.future().completeExceptionally(e);
+            } finally {
+                lastWrites.remove(pending.userId(), pending.future());
+                capacity.release();
+            }
+        }
+    }
+
+    private record PendingHistory(
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis,
+        CompletableFuture<Void> durable,
+        CompletableFuture<PointHistory> future
+    ) {
+    }
+}
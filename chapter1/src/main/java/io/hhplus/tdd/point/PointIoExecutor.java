@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 다건 조회, 비동기 조회, 일괄 처리에서 테이블 호출(최대 수백 ms 블로킹)을 실행한다.
+ * 애플리케이션 작업 풀(applicationTaskExecutor)과 분리해, 테이블 지연이 그 풀을 쓰는 비동기 API 의 처리를 막지 않도록 한다.
+ * - 플랫폼 스레드 모드 : point.io-executor.threads 개의 스레드와 queue-capacity 크기의 대기열을 쓰고, 넘치는 작업은 바로 거절한다.
+ * - 가상 스레드 모드(spring.threads.virtual.enabled) : 블로킹 동안 캐리어 스레드를 점유하지 않으므로 작업마다 가상 스레드를 만든다.
+ * Executor 빈으로 등록하지 않아 applicationTaskExecutor 자동 설정과 주입에 영향을 주지 않는다.
+ */
+@Component
+public class PointIoExecutor implements DisposableBean {
+    private final Executor executor;
+    private final ExecutorService executorService;
+
+    @Autowired
+    public PointIoExecutor(PointProperties pointProperties, Environment environment) {
+        this(create(pointProperties.ioExecutor(), Threading.VIRTUAL.isActive(environment)));
+    }
+
+    /**
+     * 작업을 실행할 executor 를 직접 지정한다. ExecutorService 이면 빈이 제거될 때 함께 종료한다.
+     */
+    public PointIoExecutor(Executor executor) {
+        this.executor = executor;
+        this.executorService = executor instanceof ExecutorService service ? service : null;
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    @Override
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService create(PointProperties.IoExecutor properties, boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-io-", 0).factory());
+        }
+
+        return new ThreadPoolExecutor(
+            properties.threads(),
+            properties.threads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.queueCapacity()),
+            Thread.ofPlatform().name("point-io-", 0).factory()
+        );
+    }
+}
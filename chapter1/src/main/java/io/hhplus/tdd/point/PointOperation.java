@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청의 한 항목.
+ */
+public record PointOperation(
+    long userId,
+    TransactionType type,
+    long amount
+) {
+    public PointOperation {
+        if (type == null) {
+            String errorMessage = "거래 종류는 필수입니다. 사용자: %d".formatted(userId);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+}
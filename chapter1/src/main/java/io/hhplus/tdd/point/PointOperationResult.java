@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 처리 요청 한 항목의 결과. 성공하면 userPoint 에 반영 후 포인트를, 실패하면 error 에 사유를 담는다.
+ */
+public record PointOperationResult(
+    long userId,
+    TransactionType type,
+    long amount,
+    UserPoint userPoint,
+    ErrorResponse error
+) {
+    public static PointOperationResult of(PointOperation operation, PointCommand command) {
+        try {
+            return new PointOperationResult(
+                operation.userId(), operation.type(), operation.amount(), command.await(), null
+            );
+        } catch (ConcurrencyLimitExceededException e) {
+            return failure(operation, new ErrorResponse("429", e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return failure(operation, new ErrorResponse("400", e.getMessage()));
+        } catch (RuntimeException e) {
+            return failure(operation, new ErrorResponse("500", "에러가 발생했습니다."));
+        }
+    }
+
+    private static PointOperationResult failure(PointOperation operation, ErrorResponse error) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), null, error);
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "point")
+public record PointProperties(
+    @DefaultValue Combining combining,
+    @DefaultValue Cache cache,
+    @DefaultValue History history,
+    @DefaultValue IoExecutor ioExecutor
+) {
+    /**
+     * @param enabled true 이면 같은 사용자에 대한 동시 요청을 락을 잡은 스레드가 모아서 한 번에 처리한다.
+     */
+    public record Combining(
+        @DefaultValue("false") boolean enabled
+    ) {
+    }
+
+    /**
+     * @param enabled          false 이면 캐시 없이 매번 UserPointTable 을 조회한다.
+     * @param maximumSize      캐시에 보관할 최대 사용자 수
+     * @param expireAfterWrite 마지막으로 적재/갱신된 뒤 만료되기까지의 시간
+     */
+    public record Cache(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("10m") Duration expireAfterWrite
+    ) {
+    }
+
+    /**
+     * @param maxPending 테이블에 기록되기를 기다릴 수 있는 최대 이력 수. 가득 차면 충전/사용이 자리가 날 때까지 기다린다.
+     */
+    public record History(
+        @DefaultValue("10000") int maxPending
+    ) {
+    }
+
+    /**
+     * 다건 조회, 비동기 조회, 일괄 처리의 테이블 호출을 실행하는 전용 풀. 가상 스레드 모드에서는 사용하지 않는다.
+     * @param threads       풀의 스레드 수
+     * @param queueCapacity 스레드를 기다릴 수 있는 최대 작업 수. 넘으면 기다리지 않고 거절한다.
+     */
+    public record IoExecutor(
+        @DefaultValue("64") int threads,
+        @DefaultValue("10000") int queueCapacity
+    ) {
+    }
+}
@@ -1,62 +1,242 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.ConcurrencyControl;
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.ConcurrencyControlProperties;
+import io.hhplus.tdd.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.KeyedSerialExecutor;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class PointService {
-    private static final String POINT_LOCK_KEY = "'userPoint-' + #id";
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int MAX_MULTI_GET_SIZE = 10_000;
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
     private final PointValidator pointValidator;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointCommandProcessor pointCommandProcessor;
+    private final PointProperties pointProperties;
+    private final UserPointCache userPointCache;
+    private final PointIoExecutor pointIoExecutor;
+    private final KeyedSerialExecutor keyedSerialExecutor;
+    private final ConcurrencyControlProperties concurrencyControlProperties;
 
     public UserPoint getPoint(long id) {
-        return userPointTable.selectById(id);
+        return userPointCache.get(id, userPointRepository::selectById);
+    }
+
+    /**
+     * 여러 사용자의 포인트를 요청 순서대로 조회한다. 요청한 id 마다 하나씩 반환하며, 중복 id 는 한 번만 조회해 같은 값을 반복한다.
+     * 캐시에 있는 값은 바로 사용하고, 나머지는 테이블 조회를 병렬로 실행해 전체 지연이 테이블 조회 한 번 수준이 되도록 한다.
+     * 조회 작업이 {@link PointIoExecutor} 의 대기열을 넘치면 {@link ConcurrencyLimitExceededException} 으로 거절한다.
+     */
+    public List<UserPoint> getPoints(List<Long> ids) {
+        if (ids.size() > MAX_MULTI_GET_SIZE) {
+            String errorMessage = "한 번에 조회할 수 있는 사용자는 최대 %d 명입니다. 요청한 사용자 수: %d"
+                .formatted(MAX_MULTI_GET_SIZE, ids.size());
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        Map<Long, CompletableFuture<UserPoint>> points = new HashMap<>();
+        for (long id : ids) {
+            points.computeIfAbsent(id, this::getPointAsync);
+        }
+
+        return ids.stream()
+            .map(id -> points.get(id).join())
+            .toList();
     }
 
     public List<PointHistory> getHistories(long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        pointHistoryWriter.awaitPending(id);
+        return pointHistoryRepository.findAllByUserId(id);
     }
 
-    @ConcurrencyControl(key = POINT_LOCK_KEY, timeout = 10L, timeUnit = TimeUnit.SECONDS)
-    public UserPoint charge(long id, long amount) {
-        UserPoint userPoint = userPointTable.selectById(id);
+    public List<PointHistory> getHistories(long id, PointHistoryQuery query) {
+        pointHistoryWriter.awaitPending(id);
+        return pointHistoryRepository.findByUserId(id, query);
+    }
 
-        pointValidator.validateCharge(userPoint,  amount);
-        UserPoint savedPoint = userPointTable.insertOrUpdate(userPoint.id(), userPoint.point() + amount);
-        pointHistoryTable.insert(userPoint.id(), amount, TransactionType.CHARGE, savedPoint.updateMillis());
+    public Stream<PointHistory> streamHistories(long id) {
+        pointHistoryWriter.awaitPending(id);
+        return pointHistoryRepository.streamByUserId(id);
+    }
 
-        return savedPoint;
+    public UserPoint charge(long id, long amount) {
+        return apply(id, TransactionType.CHARGE, amount);
     }
 
-    @ConcurrencyControl(key = POINT_LOCK_KEY, timeout = 10L, timeUnit = TimeUnit.SECONDS)
     public UserPoint use(long id, long amount) {
-        UserPoint userPoint = userPointTable.selectById(id);
+        return apply(id, TransactionType.USE, amount);
+    }
+
+    /**
+     * 캐시에 적재된 값은 바로 완료된 future 로, 그 외에는 {@link PointIoExecutor} 에서 조회한다.
+     */
+    public CompletableFuture<UserPoint> getPointAsync(long id) {
+        UserPoint cached = userPointCache.getIfPresent(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        try {
+            return pointIoExecutor.supplyAsync(() -> getPoint(id));
+        } catch (RejectedExecutionException e) {
+            throw new ConcurrencyLimitExceededException("대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    public CompletableFuture<UserPoint> chargeAsync(long id, long amount) {
+        return executeAsync(id, TransactionType.CHARGE, amount);
+    }
+
+    public CompletableFuture<UserPoint> useAsync(long id, long amount) {
+        return executeAsync(id, TransactionType.USE, amount);
+    }
+
+    /**
+     * 요청을 사용자별로 묶어 사용자마다 락 한 번, 잔액 저장 한 번으로 처리하고 사용자 묶음끼리는 병렬로 처리한다.
+     * 결과는 요청 순서대로 반환하며, 실패한 요청은 해당 항목에만 에러를 담는다.
+     * 모든 사용자의 이력이 WAL 에 기록된 뒤에 반환한다.
+     */
+    public List<PointOperationResult> batch(List<PointOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            String errorMessage = "한 번에 처리할 수 있는 요청은 최대 %d 건입니다. 요청 건수: %d"
+                .formatted(MAX_BATCH_SIZE, operations.size());
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        List<PointCommand> commands = new ArrayList<>(operations.size());
+        Map<Long, List<PointCommand>> commandsByUser = new LinkedHashMap<>();
+        for (PointOperation operation : operations) {
+            PointCommand command = new PointCommand(operation.type(), operation.amount());
+            commands.add(command);
+            commandsByUser.computeIfAbsent(operation.userId(), id -> new ArrayList<>()).add(command);
+        }
+
+        commandsByUser.forEach(this::submitGroup);
+
+        List<PointOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(PointOperationResult.of(operations.get(i), commands.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * executor 가 작업을 거절하거나 작업이 실패해도 묶음의 요청이 완료되지 않은 채 남지 않도록 실패를 전달한다.
+     */
+    private void submitGroup(long id, List<PointCommand> commands) {
+        try {
+            pointIoExecutor.runAsync(() -> processGroup(id, commands))
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        failGroup(commands, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    }
+                });
+        } catch (RejectedExecutionException e) {
+            failGroup(commands, e);
+        }
+    }
+
+    /**
+     * 락 획득 실패처럼 처리 전에 발생한 예외(Error 포함)도 묶음의 모든 요청에 전달한다. 이미 완료된 요청에는 영향이 없다.
+     */
+    private void processGroup(long id, List<PointCommand> commands) {
+        try {
+            pointCommandProcessor.process(id, commands);
+        } catch (Throwable e) {
+            if (!(e instanceof RuntimeException)) {
+                log.error("포인트 요청 처리 중 오류가 발생했습니다. userId: {}", id, e);
+            }
+            failGroup(commands, e);
+        }
+    }
+
+    private static void failGroup(List<PointCommand> commands, Throwable e) {
+        commands.forEach(command -> command.result().completeExceptionally(e));
+    }
+
+    /**
+     * 같은 사용자의 비동기 요청은 사용자별 직렬 executor 에서 차례로 처리하므로, 차례를 기다리는 동안 파킹되는 스레드가 없다.
+     * 처리 자체는 동기 API 와 같은 사용자 락 안에서 수행하므로 동기 요청과 섞여도 잔액이 어긋나지 않는다.
+     * 차례를 기다리는 요청이 concurrency-control.max-queue-depth 에 도달하면 락 대기와 마찬가지로 바로 거절한다.
+     * 처리기가 이력을 WAL 에 기록한 뒤에 결과를 완료하므로, 응답은 이력이 WAL 에 기록된 뒤에 완료된다.
+     */
+    private CompletableFuture<UserPoint> executeAsync(long id, TransactionType type, long amount) {
+        PointCommand command = new PointCommand(type, amount);
+        try {
+            keyedSerialExecutor.submit(id, () -> {
+                processGroup(id, List.of(command));
+                return null;
+            }, maxAsyncQueueDepth());
+        } catch (RejectedExecutionException e) {
+            throw new ConcurrencyLimitExceededException("대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        return command.result();
+    }
+
+    private int maxAsyncQueueDepth() {
+        int maxQueueDepth = concurrencyControlProperties.maxQueueDepth();
+        return maxQueueDepth >= 0 ? maxQueueDepth : Integer.MAX_VALUE;
+    }
+
+    /**
+     * 충전/사용 요청 하나를 처리하고 반영된 포인트를 반환한다. 결합 모드가 아니면 사용자 락 안에서 이 요청만 처리한다.
+     * 결합 모드에서는 요청을 대기열에 넣은 뒤 락을 잡는다. 락을 먼저 잡은 스레드가 대기열의 요청을 모두 처리하므로
+     * 같은 사용자에 대한 N 개의 동시 요청이 한 번의 조회/저장으로 처리된다.
+     * 락 획득에 실패했는데 요청이 아직 대기열에 남아 있다면 꺼내고 실패를 그대로 전달한다.
+     * 처리기는 이력이 WAL 에 기록된 요청만 반영하고 완료하므로, 반환한 결과는 이미 WAL 에 기록되어 있다.
+     */
+    private UserPoint apply(long id, TransactionType type, long amount) {
+        if (!pointProperties.combining().enabled()) {
+            PointCommand command = new PointCommand(type, amount);
+            pointCommandProcessor.process(id, List.of(command));
+            return command.await();
+        }
 
-        pointValidator.validateUse(userPoint, amount);
-        UserPoint saved = userPointTable.insertOrUpdate(userPoint.id(), userPoint.point() - amount);
-        pointHistoryTable.insert(id, amount, TransactionType.USE, saved.updateMillis());
+        PointCommand command = pointCommandProcessor.enqueue(id, type, amount);
+        try {
+            pointCommandProcessor.drain(id);
+        } catch (RuntimeException e) {
+            if (pointCommandProcessor.cancel(id, command)) {
+                throw e;
+            }
+        }
 
-        return saved;
+        return command.await();
     }
 
-    // synchronized 테스트용 메서드
+    // synchronized 테스트용 메서드. 테이블 지연 동안 모니터를 잡고 있어 가상 스레드 모드에서는 캐리어 스레드가 고정(pinning)된다.
     public synchronized UserPoint synchronizedCharge(long id, long amount) {
-        UserPoint userPoint = userPointTable.selectById(id);
+        UserPoint userPoint = userPointRepository.selectById(id);
 
         pointValidator.validateCharge(userPoint,  amount);
-        UserPoint savedPoint = userPointTable.insertOrUpdate(userPoint.id(), userPoint.point() + amount);
-        pointHistoryTable.insert(userPoint.id(), amount, TransactionType.CHARGE, savedPoint.updateMillis());
+        UserPoint savedPoint = userPointRepository.insertOrUpdate(userPoint.id(), userPoint.point() + amount);
+        try {
+            pointHistoryWriter.append(userPoint.id(), amount, TransactionType.CHARGE, savedPoint.updateMillis()).join();
+        } catch (CompletionException e) {
+            userPointCache.put(userPointRepository.insertOrUpdate(userPoint.id(), userPoint.point()));
+            throw e;
+        }
+        userPointCache.put(savedPoint);
 
         return savedPoint;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 검증 규칙별 에러 코드. 검증은 이 상수만 반환하고, 메시지는 응답을 만들 때 {@link #message(long, long)} 로 만든다.
+ * rule 은 point.validation.failures 카운터의 태그 값이다.
+ */
+public enum PointValidationError {
+    CHARGE_MAX_AMOUNT("charge-max-amount"),
+    CHARGE_MIN_AMOUNT("charge-min-amount"),
+    MIN_BALANCE("min-balance"),
+    MAX_BALANCE("max-balance"),
+    USE_MIN_AMOUNT("use-min-amount"),
+    INSUFFICIENT_BALANCE("insufficient-balance");
+
+    private final String rule;
+
+    PointValidationError(String rule) {
+        this.rule = rule;
+    }
+
+    public String rule() {
+        return rule;
+    }
+
+    /**
+     * @param point  검증 당시 잔액
+     * @param amount 충전/사용하려는 포인트
+     */
+    public String message(long point, long amount) {
+        return switch (this) {
+            case CHARGE_MAX_AMOUNT -> "1회 충전 가능한 최대 포인트는 %d 입니다. 충전하시려는 포인트: %d"
+                .formatted(UserPoint.MAX_CHARGE_AMOUNT, amount);
+            case CHARGE_MIN_AMOUNT -> "1회 충전 가능한 최소 포인트는 %d 입니다. 충전하시려는 포인트: %d"
+                .formatted(UserPoint.MIN_CHARGE_AMOUNT, amount);
+            case MIN_BALANCE -> "포인트 잔액은 %d 보다 작을 수 없습니다. 현재 포인트: %d, 충전 후 포인트: %d"
+                .formatted(UserPoint.MIN_BALANCE, point, point + amount);
+            case MAX_BALANCE -> "포인트 잔액은 %d 보다 클 수 없습니다. 현재 포인트: %d, 충전 후 포인트: %d"
+                .formatted(UserPoint.MAX_BALANCE, point, point + amount);
+            case USE_MIN_AMOUNT -> "사용 포인트는 1 보다 작을 수 없습니다. 사용하시려는 포인트: %d"
+                .formatted(amount);
+            case INSUFFICIENT_BALANCE -> "포인트가 부족합니다. 현재 포인트: %d, 사용하려는 포인트: %d"
+                .formatted(point, amount);
+        };
+    }
+}
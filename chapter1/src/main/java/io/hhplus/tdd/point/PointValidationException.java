@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 검증 실패. 에러 코드와 검증한 값만 담고, 메시지는 getMessage 를 호출할 때 만든다.
+ * 거절이 몰려도 비용이 커지지 않도록 스택 트레이스를 만들지 않는다.
+ */
+public class PointValidationException extends IllegalArgumentException {
+    private final PointValidationError error;
+    private final long point;
+    private final long amount;
+
+    public PointValidationException(PointValidationError error, long point, long amount) {
+        this.error = error;
+        this.point = point;
+        this.amount = amount;
+    }
+
+    public PointValidationError error() {
+        return error;
+    }
+
+    public long point() {
+        return point;
+    }
+
+    public long amount() {
+        return amount;
+    }
+
+    @Override
+    public String getMessage() {
+        return error.message(point, amount);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
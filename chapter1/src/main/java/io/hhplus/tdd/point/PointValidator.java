@@ -1,51 +1,79 @@
 package io.hhplus.tdd.point;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
-import static io.hhplus.tdd.point.UserPoint.MIN_CHARGE_AMOUNT;
-
+/**
+ * check 메서드는 어긴 규칙의 에러 코드를, 통과하면 null 을 반환한다. 객체를 만들지 않으므로 예외 없이 거절을 처리할 때 사용한다.
+ * validate 메서드는 같은 검증에 실패하면 스택 트레이스 없는 {@link PointValidationException} 을 던진다.
+ * 메시지는 응답을 만들 때(ApiControllerAdvice) 만든다.
+ * <p>
+ * 검증에 실패하면 어긴 규칙을 rule 태그로 붙여 point.validation.failures 카운터를 올린다.
+ */
 @Component
 public class PointValidator {
+    private final Counter[] failures = new Counter[PointValidationError.values().length];
+
+    public PointValidator(MeterRegistry meterRegistry) {
+        for (PointValidationError error : PointValidationError.values()) {
+            failures[error.ordinal()] = Counter.builder("point.validation.failures")
+                .description("검증 규칙별 실패 횟수")
+                .tag("rule", error.rule())
+                .register(meterRegistry);
+        }
+    }
 
     public void validateCharge(UserPoint userPoint, long amount) {
+        PointValidationError error = checkCharge(userPoint.point(), amount);
+        if (error != null) {
+            throw new PointValidationException(error, userPoint.point(), amount);
+        }
+    }
+
+    public void validateUse(UserPoint userPoint, long amount) {
+        PointValidationError error = checkUse(userPoint.point(), amount);
+        if (error != null) {
+            throw new PointValidationException(error, userPoint.point(), amount);
+        }
+    }
+
+    public PointValidationError checkCharge(long point, long amount) {
         if (amount > UserPoint.MAX_CHARGE_AMOUNT) {
-            String errorMessage = "1회 충전 가능한 최대 포인트는 %d 입니다. 충전하시려는 포인트: %d"
-                .formatted(UserPoint.MAX_CHARGE_AMOUNT, amount);
-            throw new IllegalArgumentException(errorMessage);
+            return fail(PointValidationError.CHARGE_MAX_AMOUNT);
         }
 
-        if (amount < MIN_CHARGE_AMOUNT) {
-            String errorMessage = "1회 충전 가능한 최소 포인트는 %d 입니다. 충전하시려는 포인트: %d"
-                .formatted(MIN_CHARGE_AMOUNT, amount);
-            throw new IllegalArgumentException(errorMessage);
+        if (amount < UserPoint.MIN_CHARGE_AMOUNT) {
+            return fail(PointValidationError.CHARGE_MIN_AMOUNT);
         }
 
-        var willChargePoint = userPoint.point() + amount;
+        long willChargePoint = point + amount;
 
         if (willChargePoint < UserPoint.MIN_BALANCE) {
-            String errorMessage = "포인트 잔액은 %d 보다 작을 수 없습니다. 현재 포인트: %d, 충전 후 포인트: %d"
-                .formatted(UserPoint.MIN_BALANCE, userPoint.point(), willChargePoint);
-            throw new IllegalArgumentException(errorMessage);
+            return fail(PointValidationError.MIN_BALANCE);
         }
 
         if (willChargePoint > UserPoint.MAX_BALANCE) {
-            String errorMessage = "포인트 잔액은 %d 보다 클 수 없습니다. 현재 포인트: %d, 충전 후 포인트: %d"
-                .formatted(UserPoint.MAX_BALANCE, userPoint.point(), willChargePoint);
-            throw new IllegalArgumentException(errorMessage);
+            return fail(PointValidationError.MAX_BALANCE);
         }
+
+        return null;
     }
 
-    public void validateUse(UserPoint userPoint, long amount) {
+    public PointValidationError checkUse(long point, long amount) {
         if (amount < 1) {
-            String errorMessage = "사용 포인트는 1 보다 작을 수 없습니다. 사용하시려는 포인트: %d"
-                .formatted(amount);
-            throw new IllegalArgumentException(errorMessage);
+            return fail(PointValidationError.USE_MIN_AMOUNT);
         }
 
-        if (userPoint.point() < amount) {
-            String errorMessage = "포인트가 부족합니다. 현재 포인트: %d, 사용하려는 포인트: %d"
-                .formatted(userPoint.point(), amount);
-            throw new IllegalArgumentException(errorMessage);
+        if (point < amount) {
+            return fail(PointValidationError.INSUFFICIENT_BALANCE);
         }
+
+        return null;
+    }
+
+    private PointValidationError fail(PointValidationError error) {
+        failures[error.ordinal()].increment();
+        return error;
     }
 }
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+/**
+ * UserPointTable.selectById 앞에 두는 크기/TTL 제한 read-through 캐시.
+ * 충전/사용이 성공하면 사용자 락 안에서 저장된 값을 바로 넣으므로 쓰기 이후의 조회는 테이블로 가지 않는다.
+ * <p>
+ * 캐시 미스 시 로딩은 호출한 스레드에서 수행하되, 캐시에는 로딩 중인 future 만 먼저 넣어 둔다.
+ * 테이블 조회(최대 200ms) 동안 맵 내부 락을 잡지 않고, 같은 사용자에 대한 동시 미스는 한 번만 로딩한다.
+ * 로딩 중에 쓰기가 {@link #put(UserPoint)} 로 값을 바꾸면 늦게 끝난 로딩 결과는 캐시에 반영되지 않는다.
+ */
+@Component
+public class UserPointCache {
+    private final AsyncCache<Long, UserPoint> cache;
+
+    public UserPointCache(PointProperties pointProperties, MeterRegistry meterRegistry) {
+        PointProperties.Cache properties = pointProperties.cache();
+        if (!properties.enabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .buildAsync();
+        new CaffeineCacheMetrics<>(cache.synchronous(), "userPoint", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public UserPoint get(long id, LongFunction<UserPoint> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+
+        CompletableFuture<UserPoint> loading = new CompletableFuture<>();
+        CompletableFuture<UserPoint> cached = cache.get(id, (key, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.apply(id));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        return cached.join();
+    }
+
+    /**
+     * 적재가 끝난 값만 반환한다. 캐시에 없거나 아직 로딩 중이면 null 을 반환한다.
+     */
+    public UserPoint getIfPresent(long id) {
+        if (cache == null) {
+            return null;
+        }
+
+        CompletableFuture<UserPoint> cached = cache.getIfPresent(id);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        return cached.join();
+    }
+
+    public void put(UserPoint userPoint) {
+        if (cache != null) {
+            cache.put(userPoint.id(), CompletableFuture.completedFuture(userPoint));
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+}
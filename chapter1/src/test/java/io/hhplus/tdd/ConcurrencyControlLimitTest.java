@@ -0,0 +1,97 @@
+package io.hhplus.tdd;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ConcurrencyControlLimitTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MailboxExecutor mailboxExecutor;
+
+    @AfterEach
+    void tearDown() {
+        mailboxExecutor.destroy();
+    }
+
+    private Worker worker(LockMode mode, int maxQueueDepth, int maxInFlight) {
+        ConcurrencyControlProperties properties = new ConcurrencyControlProperties(mode, 1024, 8, maxQueueDepth, maxInFlight);
+        mailboxExecutor = new MailboxExecutor(properties);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Worker());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ConcurrencyControlAspect(
+            new KeyedLockRegistry(), mailboxExecutor, properties, meterRegistry
+        ));
+        return proxyFactory.getProxy();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = LockMode.class, names = {"PER_KEY", "STRIPED", "MAILBOX"})
+    @DisplayName("같은 key 의 대기 수가 한도에 도달하면 기다리지 않고 바로 거절한다")
+    void rejectWhenQueueIsFull(LockMode mode) throws InterruptedException {
+        // given
+        Worker worker = worker(mode, 0, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> worker.hold(1L, started, release));
+        started.await();
+
+        // when
+        long startedAt = System.nanoTime();
+        Throwable throwable = catchThrowable(() -> worker.hold(1L, new CountDownLatch(1), new CountDownLatch(0)));
+        long elapsed = System.nanoTime() - startedAt;
+        release.countDown();
+        holder.join();
+
+        // then
+        assertThat(throwable).isInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(elapsed).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meterRegistry.get("concurrency.lock.rejections").tag("reason", "queue-depth").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("전체 처리 중인 요청이 한도에 도달하면 다른 key 의 요청도 거절한다")
+    void rejectWhenInFlightIsFull() throws InterruptedException {
+        // given
+        Worker worker = worker(LockMode.PER_KEY, -1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> worker.hold(1L, started, release));
+        started.await();
+
+        // when
+        Throwable throwable = catchThrowable(() -> worker.hold(2L, new CountDownLatch(1), new CountDownLatch(0)));
+        release.countDown();
+        holder.join();
+        worker.hold(2L, new CountDownLatch(1), new CountDownLatch(0));
+
+        // then
+        assertThat(throwable).isInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(meterRegistry.get("concurrency.lock.rejections").tag("reason", "in-flight").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    public static class Worker {
+        @ConcurrencyControl(key = "#id", timeout = 10L, timeUnit = TimeUnit.SECONDS)
+        public CompletableFuture<Void> hold(long id, CountDownLatch started, CountDownLatch release) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.hhplus.tdd;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ConcurrencyControlMailboxTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MailboxExecutor mailboxExecutor;
+    private Counter target;
+    private Counter counter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyControlProperties properties = new ConcurrencyControlProperties(LockMode.MAILBOX, 1024, 8, -1, 0);
+        mailboxExecutor = new MailboxExecutor(properties);
+        target = new Counter();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ConcurrencyControlAspect(
+            new KeyedLockRegistry(), mailboxExecutor, properties, meterRegistry
+        ));
+        counter = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailboxExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("같은 key 의 호출은 메일박스에서 하나씩 실행되고, 끝나면 메일박스가 제거된다")
+    void serializePerKey() throws InterruptedException {
+        // given
+        int threadCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.execute(() -> {
+                try {
+                    counter.increment(1L);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(target.value).isEqualTo(threadCount);
+        assertThat(target.maxRunning).hasValue(1);
+        assertThat(mailboxExecutor.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("CompletionStage 를 반환하는 메서드는 즉시 반환하고, stage 가 완료될 때까지 다음 호출을 실행하지 않는다")
+    void holdTurnUntilStageCompletes() throws InterruptedException {
+        // given
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        target.nextAsyncResult = pending;
+
+        // when
+        CompletableFuture<Long> first = counter.incrementAsync(1L);
+        CompletableFuture<Long> second = counter.incrementAsync(1L);
+        while (target.asyncCalls.get() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+
+        // then
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        assertThat(target.asyncCalls).hasValue(1);
+
+        target.nextAsyncResult = CompletableFuture.completedFuture(2L);
+        pending.complete(1L);
+        assertThat(first.join()).isEqualTo(1L);
+        assertThat(second.join()).isEqualTo(2L);
+        assertThat(target.asyncCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("timeout 안에 차례가 오지 않으면 실패하고, 이후에 차례가 와도 실행되지 않는다")
+    void skipAfterTimeout() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocking = CompletableFuture.runAsync(() -> counter.block(1L, release));
+        while (mailboxExecutor.size() == 0) {
+            Thread.sleep(1);
+        }
+
+        // when
+        Throwable throwable = catchThrowable(() -> counter.incrementWithShortTimeout(1L));
+        release.countDown();
+        blocking.join();
+        counter.increment(1L);
+
+        // then
+        assertThat(throwable).hasMessage("락 획득 실패");
+        assertThat(target.value).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.lock.timeouts").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("설정이 MAILBOX 여도 동기 메서드는 호출한 스레드에서 락으로 실행하고, 비동기 메서드만 메일박스에서 실행한다")
+    void applyConfiguredMailboxOnlyToAsyncMethods() {
+        // when
+        String syncThread = counter.threadName(1L);
+        String asyncThread = counter.threadNameAsync(1L).join();
+
+        // then
+        assertThat(syncThread).isEqualTo(Thread.currentThread().getName());
+        assertThat(asyncThread).startsWith("mailbox-");
+    }
+
+    public static class Counter {
+        private long value;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger asyncCalls = new AtomicInteger();
+        private volatile CompletableFuture<Long> nextAsyncResult;
+
+        @ConcurrencyControl(key = "#id", timeout = 10L, timeUnit = TimeUnit.SECONDS, mode = LockMode.MAILBOX)
+        public long increment(long id) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            long current = value;
+            Thread.onSpinWait();
+            value = current + 1;
+            running.decrementAndGet();
+            return value;
+        }
+
+        @ConcurrencyControl(key = "#id", timeout = 100L, timeUnit = TimeUnit.MILLISECONDS, mode = LockMode.MAILBOX)
+        public long incrementWithShortTimeout(long id) {
+            return increment(id);
+        }
+
+        @ConcurrencyControl(key = "#id", timeout = 10L, timeUnit = TimeUnit.SECONDS, mode = LockMode.MAILBOX)
+        public CompletableFuture<Long> incrementAsync(long id) {
+            asyncCalls.incrementAndGet();
+            return nextAsyncResult;
+        }
+
+        @ConcurrencyControl(key = "#id", timeout = 10L, timeUnit = TimeUnit.SECONDS)
+        public String threadName(long id) {
+            return Thread.currentThread().getName();
+        }
+
+        @ConcurrencyControl(key = "#id", timeout = 10L, timeUnit = TimeUnit.SECONDS)
+        public CompletableFuture<String> threadNameAsync(long id) {
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        }
+
+        @ConcurrencyControl(key = "#id", timeout = 10L, timeUnit = TimeUnit.SECONDS, mode = LockMode.MAILBOX)
+        public void block(long id, CountDownLatch release) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.database.ColumnarPointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -32,14 +36,25 @@ public class ConcurrencyControlTest {
     private UserPointTable userPointTable;
     @Autowired
     private PointHistoryTable pointHistoryTable;
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
     @SpyBean
     private PointValidator pointValidator;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PointHistoryWriter pointHistoryWriter;
+    @Autowired
+    private UserPointCache userPointCache;
 
     @AfterEach
     void setUp() {
+        pointHistoryWriter.awaitAll();
+        userPointCache.invalidateAll();
         ReflectionTestUtils.setField(userPointTable, "table", new HashMap<>());
         ReflectionTestUtils.setField(pointHistoryTable, "table", new ArrayList<>());
         ReflectionTestUtils.setField(pointHistoryTable, "cursor", 1);
+        ReflectionTestUtils.setField(pointHistoryRepository, "index", new ColumnarPointHistoryIndex());
     }
 
     @Test
@@ -200,6 +215,37 @@ public class ConcurrencyControlTest {
         assertThat(reentrantLockAvg).isLessThan(synchronizedAvg);
     }
 
+    @Test
+    void 락_대기_시간과_보유_시간이_메트릭으로_기록된다() throws InterruptedException {
+        // given
+        UserPoint userPoint = saveUserPoint();
+        int threadCount = 3;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        long waitCountBefore = timerCount("concurrency.lock.wait");
+        long holdCountBefore = timerCount("concurrency.lock.hold");
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                pointService.charge(userPoint.id(), 100L);
+                latch.countDown();
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(timerCount("concurrency.lock.wait") - waitCountBefore).isEqualTo(threadCount);
+        assertThat(timerCount("concurrency.lock.hold") - holdCountBefore).isEqualTo(threadCount);
+    }
+
+    private long timerCount(String name) {
+        Timer timer = meterRegistry.find(name).tag("key", "'userPoint-' + #id").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
     private long calculateAverage(long[] times) {
         long sum = 0;
         for (long time : times) {
@@ -210,13 +256,13 @@ public class ConcurrencyControlTest {
 
     private UserPoint saveUserPoint() {
         var saved = userPointTable.insertOrUpdate(1L, 100L);
-        pointHistoryTable.insert(saved.id(), saved.point(), TransactionType.CHARGE, saved.updateMillis());
+        pointHistoryRepository.insert(saved.id(), saved.point(), TransactionType.CHARGE, saved.updateMillis());
         return saved;
     }
 
     private UserPoint saveUserPoint(UserPoint userPoint) {
         var saved = userPointTable.insertOrUpdate(userPoint.id(), userPoint.point());
-        pointHistoryTable.insert(saved.id(), userPoint.point(), TransactionType.CHARGE, saved.updateMillis());
+        pointHistoryRepository.insert(saved.id(), userPoint.point(), TransactionType.CHARGE, saved.updateMillis());
         return saved;
     }
 }
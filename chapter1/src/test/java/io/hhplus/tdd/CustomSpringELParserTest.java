@@ -2,6 +2,7 @@ package io.hhplus.tdd;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -103,4 +104,32 @@ class CustomSpringELParserTest {
         // then
         assertThat(result).isEqualTo("홍길동은 30대 이상입니다");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("같은 표현식은 한 번만 파싱해 재사용한다")
+    void reuseParsedExpression() {
+        // given
+        String expression = "'userPoint-' + #id";
+
+        // when
+        Expression first = CustomSpringELParser.parse(expression);
+        Expression second = CustomSpringELParser.parse(expression);
+
+        // then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("캐시된 표현식을 반복 평가해도 인자에 맞는 값을 반환한다")
+    void evaluateCachedExpressionRepeatedly() {
+        // given
+        String[] paramNames = {"id", "amount"};
+        String expression = "'userPoint-' + #id";
+
+        // when & then
+        for (long id = 1; id <= 500; id++) {
+            Object result = CustomSpringELParser.getDynamicValue(paramNames, new Object[]{id, 100L}, expression);
+            assertThat(result).isEqualTo("userPoint-" + id);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.hhplus.tdd;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedLockRegistryTest {
+    private KeyedLockRegistry lockRegistry;
+
+    @BeforeEach
+    void setUp() {
+        lockRegistry = new KeyedLockRegistry();
+    }
+
+    @Test
+    @DisplayName("참조가 남아있는 동안에는 같은 key 에 같은 락을 반환한다")
+    void sameLockWhileReferenced() {
+        // given
+        ReentrantLock first = lockRegistry.acquire("LOCK::1");
+
+        // when
+        ReentrantLock second = lockRegistry.acquire("LOCK::1");
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(lockRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("모든 참조가 해제되면 엔트리가 제거된다")
+    void removeEntryWhenReleased() {
+        // given
+        lockRegistry.acquire("LOCK::1");
+        lockRegistry.acquire("LOCK::1");
+
+        // when
+        lockRegistry.release("LOCK::1");
+        int sizeAfterFirstRelease = lockRegistry.size();
+        lockRegistry.release("LOCK::1");
+
+        // then
+        assertThat(sizeAfterFirstRelease).isEqualTo(1);
+        assertThat(lockRegistry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기자가 한도에 도달하면 참조를 얻지 못하고, 해제되면 다시 얻을 수 있다")
+    void rejectWhenWaitersExceedLimit() {
+        // given
+        ReentrantLock holder = lockRegistry.tryAcquire("LOCK::1", true, 1);
+        ReentrantLock waiter = lockRegistry.tryAcquire("LOCK::1", true, 1);
+
+        // when
+        ReentrantLock rejected = lockRegistry.tryAcquire("LOCK::1", true, 1);
+        lockRegistry.release("LOCK::1");
+        ReentrantLock afterRelease = lockRegistry.tryAcquire("LOCK::1", true, 1);
+
+        // then
+        assertThat(holder).isNotNull().isSameAs(waiter).isSameAs(afterRelease);
+        assertThat(rejected).isNull();
+    }
+
+    /*
+     * 시나리오 설명
+     * 1. 여러 스레드가 적은 수의 key(경합)와 매번 다른 key(고유 사용자)를 섞어서 락을 획득/해제한다.
+     * 2. 같은 key 에 대해서는 상호 배제가 유지되어야 한다.
+     * 3. 모든 작업이 끝나면 맵에 남아있는 락이 없어야 한다.
+     */
+    @Test
+    @DisplayName("경합 상황에서도 상호 배제가 유지되고 작업이 끝나면 락이 모두 제거된다")
+    void stress() throws InterruptedException {
+        // given
+        int threadCount = 16;
+        int iterations = 20_000;
+        int hotKeyCount = 4;
+        long[] counters = new long[hotKeyCount];
+        AtomicLong hotOperations = new AtomicLong();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            int threadIndex = t;
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        boolean hot = ThreadLocalRandom.current().nextBoolean();
+                        int hotKey = ThreadLocalRandom.current().nextInt(hotKeyCount);
+                        String key = hot ? "LOCK::hot-" + hotKey : "LOCK::user-" + threadIndex + "-" + i;
+                        ReentrantLock lock = lockRegistry.acquire(key);
+                        lock.lock();
+                        try {
+                            if (hot) {
+                                counters[hotKey]++;
+                                hotOperations.incrementAndGet();
+                            }
+                        } finally {
+                            lock.unlock();
+                            lockRegistry.release(key);
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        long total = 0;
+        for (long counter : counters) {
+            total += counter;
+        }
+        assertThat(total).isEqualTo(hotOperations.get());
+        assertThat(lockRegistry.size()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class KeyedSerialExecutorTest {
+    private ExecutorService executorService;
+    private KeyedSerialExecutor serialExecutor;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(8);
+        serialExecutor = new KeyedSerialExecutor(new TaskExecutorAdapter(executorService));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 key 의 작업은 제출 순서대로 하나씩 실행된다")
+    void runInSubmissionOrderPerKey() {
+        // given
+        int taskCount = 1000;
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < taskCount; i++) {
+            int order = i;
+            futures.add(serialExecutor.submit(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                executed.add(order);
+                running.decrementAndGet();
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(executed).isSorted().hasSize(taskCount);
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("앞선 작업이 실패해도 다음 작업은 실행되고, 실패는 원래 예외로 전달된다")
+    void continueAfterFailure() {
+        // given
+        IllegalStateException error = new IllegalStateException("실패");
+
+        // when
+        CompletableFuture<Object> failed = serialExecutor.submit(1L, () -> {
+            throw error;
+        });
+        CompletableFuture<String> next = serialExecutor.submit(1L, () -> "다음");
+
+        // then
+        assertThat(next.join()).isEqualTo("다음");
+        assertThat(catchThrowable(failed::join)).hasCause(error);
+    }
+
+    @Test
+    @DisplayName("모든 작업이 끝나면 key 의 엔트리가 제거된다")
+    void removeEntryWhenIdle() {
+        // given
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (long key = 0; key < 100; key++) {
+            long value = key;
+            futures.add(serialExecutor.submit(key, () -> value));
+            futures.add(serialExecutor.submit(key, () -> value));
+        }
+
+        // when
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(serialExecutor.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("기다리는 작업이 한도에 도달하면 제출을 거절한다")
+    void rejectWhenWaitingExceedsLimit() {
+        // given
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        serialExecutor.submitAsync(1L, () -> running, 1);
+        serialExecutor.submitAsync(1L, () -> CompletableFuture.completedFuture(null), 1);
+
+        // when
+        Throwable throwable = catchThrowable(
+            () -> serialExecutor.submitAsync(1L, () -> CompletableFuture.completedFuture(null), 1)
+        );
+
+        // then
+        assertThat(throwable).isInstanceOf(RejectedExecutionException.class);
+        assertThat(serialExecutor.waiting(1L)).isEqualTo(1);
+        running.complete(null);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointStorageProperties;
+import io.hhplus.tdd.database.PointStorageProperties.Latency;
+import io.hhplus.tdd.database.SimulatedUserPointStorage;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointStorage;
+import io.hhplus.tdd.point.PointCommandProcessor;
+import io.hhplus.tdd.point.PointHistoryWriter;
+import io.hhplus.tdd.point.PointIoExecutor;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointValidator;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+class PointMetricsAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PointCommandProcessor pointCommandProcessor = mock(PointCommandProcessor.class);
+    private final UserPointCache userPointCache = mock(UserPointCache.class);
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new PointMetricsAspect(meterRegistry));
+        return proxyFactory.getProxy();
+    }
+
+    private PointService pointService() {
+        return proxy(new PointService(
+            mock(UserPointRepository.class),
+            mock(PointHistoryRepository.class),
+            mock(PointValidator.class),
+            mock(PointHistoryWriter.class),
+            pointCommandProcessor,
+            new PointProperties(
+                new PointProperties.Combining(false),
+                new PointProperties.Cache(true, 100L, Duration.ofMinutes(1)),
+                new PointProperties.History(10000),
+                new PointProperties.IoExecutor(8, 100)
+            ),
+            userPointCache,
+            new PointIoExecutor(Runnable::run),
+            new KeyedSerialExecutor(new TaskExecutorAdapter(Runnable::run)),
+            new ConcurrencyControlProperties(LockMode.PER_KEY, 1024, 8, -1, 0)
+        ));
+    }
+
+    private long count(String name, String operation, String outcome) {
+        return meterRegistry.get(name).tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+
+    @Test
+    @DisplayName("서비스 호출 시간을 메서드와 결과(success, invalid, rejected)별로 기록한다")
+    void recordServiceCallsByOperationAndOutcome() {
+        // given
+        PointService pointService = pointService();
+        given(userPointCache.get(eq(1L), any())).willReturn(UserPoint.empty(1L));
+        willThrow(new IllegalArgumentException("포인트가 부족합니다."))
+            .willThrow(new ConcurrencyLimitExceededException("대기 중인 요청이 너무 많습니다."))
+            .given(pointCommandProcessor).process(anyLong(), anyList());
+
+        // when
+        pointService.getPoint(1L);
+        pointService.getPoint(1L);
+        Throwable invalid = catchThrowable(() -> pointService.use(1L, 100L));
+        Throwable rejected = catchThrowable(() -> pointService.use(1L, 100L));
+
+        // then
+        assertThat(invalid).isInstanceOf(IllegalArgumentException.class);
+        assertThat(rejected).isInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(count("point.service", "getPoint", "success")).isEqualTo(2);
+        assertThat(count("point.service", "use", "invalid")).isEqualTo(1);
+        assertThat(count("point.service", "use", "rejected")).isEqualTo(1);
+        assertThat(count("point.service", "use", "success")).isZero();
+    }
+
+    @Test
+    @DisplayName("저장소 호출 시간을 저장소와 메서드별로 기록한다")
+    void recordStorageCallsByStorageAndOperation() {
+        // given
+        UserPointStorage userPointStorage = proxy(new SimulatedUserPointStorage(new PointStorageProperties(
+            PointStorageProperties.Backend.SIMULATED, 0L, Latency.none(), Latency.none(), Latency.none()
+        )));
+
+        // when
+        userPointStorage.insertOrUpdate(1L, 100L);
+        userPointStorage.selectById(1L);
+        userPointStorage.selectById(2L);
+        userPointStorage.size();
+
+        // then
+        assertThat(meterRegistry.get("point.storage").tag("storage", "user-point").tag("operation", "selectById")
+            .tag("outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(count("point.storage", "insertOrUpdate", "success")).isEqualTo(1);
+        assertThat(meterRegistry.find("point.storage").tag("operation", "size").timer()).isNull();
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class StripedLocksTest {
+
+    @Test
+    @DisplayName("stripe 수는 2의 거듭제곱으로 올림된다")
+    void roundUpToPowerOfTwo() {
+        assertThat(new StripedLocks(1).size()).isEqualTo(1);
+        assertThat(new StripedLocks(3).size()).isEqualTo(4);
+        assertThat(new StripedLocks(1000).size()).isEqualTo(1024);
+        assertThat(new StripedLocks(1024).size()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("stripe 수가 1보다 작으면 실패")
+    void invalidStripes() {
+        // when
+        Throwable throwable = catchThrowable(() -> new StripedLocks(0));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("같은 key 는 항상 같은 락을 사용한다")
+    void sameKeySameLock() {
+        // given
+        StripedLocks stripedLocks = new StripedLocks(64);
+
+        // when & then
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(stripedLocks.get("userPoint-" + id)).isSameAs(stripedLocks.get("userPoint-" + id));
+        }
+    }
+}
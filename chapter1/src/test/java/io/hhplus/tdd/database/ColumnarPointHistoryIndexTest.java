@@ -0,0 +1,141 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryFixture;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarPointHistoryIndexTest {
+    private ColumnarPointHistoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ColumnarPointHistoryIndex();
+    }
+
+    @Test
+    void 사용자의_이력만_기록된_순서대로_조회한다() {
+        // given
+        long id = 1;
+        for (int i = 0; i < 10; i++) {
+            index.add(new PointHistoryFixture().setId(id++).setUserId(1L).setAmount(i).create());
+            index.add(new PointHistoryFixture().setId(id++).setUserId(2L).setAmount(i).create());
+        }
+
+        // when
+        List<PointHistory> histories = index.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).hasSize(10);
+        assertThat(histories).allMatch(history -> history.userId() == 1L);
+        assertThat(histories).extracting(PointHistory::amount)
+            .containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void 이력이_없는_사용자는_빈_목록을_반환한다() {
+        assertThat(index.findAllByUserId(1L)).isEmpty();
+    }
+
+    @Test
+    void 조회_결과는_이후의_기록에_영향을_받지_않는다() {
+        // given
+        index.add(new PointHistoryFixture().setId(1L).create());
+        List<PointHistory> before = index.findAllByUserId(1L);
+
+        // when
+        index.add(new PointHistoryFixture().setId(2L).create());
+
+        // then
+        assertThat(before).hasSize(1);
+        assertThat(index.findAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    void 스트림은_생성_시점까지의_이력만_순회한다() {
+        // given
+        index.add(new PointHistoryFixture().setId(1L).create());
+        index.add(new PointHistoryFixture().setId(2L).create());
+        Stream<PointHistory> stream = index.streamByUserId(1L);
+
+        // when
+        for (long id = 3; id <= 10; id++) {
+            index.add(new PointHistoryFixture().setId(id).create());
+        }
+
+        // then
+        assertThat(stream).extracting(PointHistory::id).containsExactly(1L, 2L);
+        assertThat(index.streamByUserId(2L)).isEmpty();
+    }
+
+    @Nested
+    @DisplayName("조건 조회 테스트")
+    class FindByUserIdTest {
+        /*
+         * 사용자 1 의 이력 10건: id 1~10, updateMillis 100~1000, 짝수 id 는 USE, 홀수 id 는 CHARGE
+         */
+        @BeforeEach
+        void setUp() {
+            for (long id = 1; id <= 10; id++) {
+                index.add(new PointHistoryFixture()
+                    .setId(id)
+                    .setUserId(1L)
+                    .setType(id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE)
+                    .setUpdateMillis(id * 100)
+                    .create());
+            }
+        }
+
+        @Test
+        void 커서_이후의_이력을_limit_만큼_조회한다() {
+            // when
+            List<PointHistory> firstPage = index.findByUserId(1L, new PointHistoryQuery(null, 4, null, null, null));
+            List<PointHistory> secondPage = index.findByUserId(1L, new PointHistoryQuery(4L, 4, null, null, null));
+            List<PointHistory> lastPage = index.findByUserId(1L, new PointHistoryQuery(8L, 4, null, null, null));
+
+            // then
+            assertThat(firstPage).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L);
+            assertThat(secondPage).extracting(PointHistory::id).containsExactly(5L, 6L, 7L, 8L);
+            assertThat(lastPage).extracting(PointHistory::id).containsExactly(9L, 10L);
+        }
+
+        @Test
+        void 기간_조건은_양_끝을_포함한다() {
+            // when
+            List<PointHistory> histories = index.findByUserId(1L, new PointHistoryQuery(null, null, 300L, 600L, null));
+
+            // then
+            assertThat(histories).extracting(PointHistory::id).containsExactly(3L, 4L, 5L, 6L);
+        }
+
+        @Test
+        void 종류_조건과_커서_기간_조건을_함께_적용한다() {
+            // when
+            List<PointHistory> histories = index.findByUserId(
+                1L,
+                new PointHistoryQuery(2L, 2, 200L, 900L, TransactionType.USE)
+            );
+
+            // then
+            assertThat(histories).extracting(PointHistory::id).containsExactly(4L, 6L);
+        }
+
+        @Test
+        void 조건에_맞는_이력이_없으면_빈_목록을_반환한다() {
+            // when
+            List<PointHistory> histories = index.findByUserId(1L, new PointHistoryQuery(10L, null, null, null, null));
+
+            // then
+            assertThat(histories).isEmpty();
+        }
+    }
+}
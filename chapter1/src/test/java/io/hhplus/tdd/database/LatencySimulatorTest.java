@@ -0,0 +1,127 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.PointStorageProperties.Distribution;
+import io.hhplus.tdd.database.PointStorageProperties.Latency;
+import io.hhplus.tdd.database.PointStorageProperties.Percentile;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencySimulatorTest {
+    private static final int SAMPLES = 100_000;
+
+    private static Latency uniform(long minMillis, long maxMillis) {
+        return new Latency(Distribution.UNIFORM, Duration.ZERO, Duration.ofMillis(minMillis), Duration.ofMillis(maxMillis),
+            Duration.ZERO, 0, List.of());
+    }
+
+    private static Latency logNormal(long medianMillis, double sigma, long maxMillis) {
+        return new Latency(Distribution.LOG_NORMAL, Duration.ZERO, Duration.ZERO, Duration.ofMillis(maxMillis),
+            Duration.ofMillis(medianMillis), sigma, List.of());
+    }
+
+    private static Latency percentiles(Percentile... percentiles) {
+        return new Latency(Distribution.PERCENTILES, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            Duration.ZERO, 0, List.of(percentiles));
+    }
+
+    private static Percentile percentile(double percentile, long millis) {
+        return new Percentile(percentile, Duration.ofMillis(millis));
+    }
+
+    private static long[] sample(LatencySimulator simulator) {
+        return LongStream.range(0, SAMPLES).map(i -> simulator.nextNanos()).sorted().toArray();
+    }
+
+    private static double millisAt(long[] sorted, double percentile) {
+        return sorted[(int) (sorted.length * percentile / 100.0)] / 1_000_000.0;
+    }
+
+    @Test
+    void 같은_seed_면_호출_순서별_지연이_같다() {
+        // given
+        LatencySimulator first = new LatencySimulator(logNormal(10, 1.0, 0), 42L);
+        LatencySimulator second = new LatencySimulator(logNormal(10, 1.0, 0), 42L);
+        LatencySimulator otherSeed = new LatencySimulator(logNormal(10, 1.0, 0), 43L);
+
+        // when
+        long[] firstSequence = LongStream.range(0, 100).map(i -> first.nextNanos()).toArray();
+        long[] secondSequence = LongStream.range(0, 100).map(i -> second.nextNanos()).toArray();
+        long[] otherSequence = LongStream.range(0, 100).map(i -> otherSeed.nextNanos()).toArray();
+
+        // then
+        assertThat(firstSequence).isEqualTo(secondSequence);
+        assertThat(Arrays.equals(firstSequence, otherSequence)).isFalse();
+    }
+
+    @Test
+    void 고정_지연과_균등_분포는_설정한_범위를_벗어나지_않는다() {
+        // given
+        LatencySimulator fixed = new LatencySimulator(Latency.fixed(Duration.ofMillis(3)), 0L);
+        LatencySimulator uniform = new LatencySimulator(uniform(10, 20), 0L);
+
+        // when
+        long[] fixedSamples = sample(fixed);
+        long[] uniformSamples = sample(uniform);
+
+        // then
+        assertThat(fixedSamples).containsOnly(Duration.ofMillis(3).toNanos());
+        assertThat(uniformSamples[0]).isGreaterThanOrEqualTo(Duration.ofMillis(10).toNanos());
+        assertThat(uniformSamples[SAMPLES - 1]).isLessThanOrEqualTo(Duration.ofMillis(20).toNanos());
+        assertThat(millisAt(uniformSamples, 50)).isCloseTo(15.0, within(0.2));
+    }
+
+    @Test
+    void 로그_정규_분포는_중앙값을_따르고_max_에서_자른다() {
+        // given
+        LatencySimulator simulator = new LatencySimulator(logNormal(10, 0.5, 50), 7L);
+
+        // when
+        long[] samples = sample(simulator);
+
+        // then
+        assertThat(millisAt(samples, 50)).isCloseTo(10.0, within(0.3));
+        assertThat(samples[SAMPLES - 1]).isEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void 기록한_백분위_지연을_재현한다() {
+        // given
+        LatencySimulator simulator = new LatencySimulator(percentiles(
+            percentile(0, 1),
+            percentile(50, 5),
+            percentile(99, 40),
+            percentile(100, 300)
+        ), 1L);
+
+        // when
+        long[] samples = sample(simulator);
+
+        // then
+        long withinP99 = Arrays.stream(samples).filter(nanos -> nanos <= Duration.ofMillis(40).toNanos()).count();
+        assertThat(millisAt(samples, 50)).isCloseTo(5.0, within(0.2));
+        assertThat(millisAt(samples, 90)).isCloseTo(5.0 + 35.0 * 40 / 49, within(0.5));
+        assertThat((double) withinP99 / SAMPLES).isCloseTo(0.99, within(0.002));
+        assertThat(samples[0]).isGreaterThanOrEqualTo(Duration.ofMillis(1).toNanos());
+        assertThat(samples[SAMPLES - 1]).isLessThanOrEqualTo(Duration.ofMillis(300).toNanos());
+    }
+
+    @Test
+    void 백분위가_오름차순이_아니면_생성할_수_없다() {
+        // given
+        Latency latency = percentiles(percentile(99, 40), percentile(50, 5));
+
+        // when
+        Throwable throwable = catchThrowable(() -> new LatencySimulator(latency, 0L));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class LongBalanceMapTest {
+
+    @Test
+    void 저장한_잔액을_조회하고_없는_사용자는_null_을_반환한다() {
+        // given
+        LongBalanceMap map = new LongBalanceMap();
+
+        // when
+        map.put(1L, 1000L, 10L);
+        map.put(1L, 700L, 20L);
+
+        // then
+        assertThat(map.get(1L)).isEqualTo(new UserPoint(1L, 700L, 20L));
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void add_는_잔액에_더하고_항목이_없으면_0_에서_시작한다() {
+        // given
+        LongBalanceMap map = new LongBalanceMap();
+
+        // when
+        map.add(1L, 1000L, 10L);
+        map.add(1L, -300L, 20L);
+
+        // then
+        assertThat(map.get(1L)).isEqualTo(new UserPoint(1L, 700L, 20L));
+    }
+
+    @Test
+    @DisplayName("배열이 늘어나고 충돌한 항목을 삭제해도 남은 항목을 모두 조회할 수 있다")
+    void resizeAndRemove() {
+        // given
+        LongBalanceMap map = new LongBalanceMap(1);
+        int count = 10_000;
+        for (long id = 0; id < count; id++) {
+            map.put(id, id * 10, id);
+        }
+
+        // when
+        for (long id = 0; id < count; id += 2) {
+            map.remove(id);
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(count / 2);
+        for (long id = 0; id < count; id++) {
+            UserPoint expected = id % 2 == 0 ? null : new UserPoint(id, id * 10, id);
+            assertThat(map.get(id)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void 비어있는_key_로_쓰는_id_는_사용할_수_없다() {
+        // given
+        LongBalanceMap map = new LongBalanceMap();
+
+        // when
+        Throwable throwable = catchThrowable(() -> map.put(Long.MIN_VALUE, 0L, 0L));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 1. 여러 스레드가 같은 사용자들의 잔액을 동시에 더해도 누락이 없어야 한다.
+     * 2. 쓰기 도중의 낙관적 읽기도 예외 없이 이전 값이나 이후 값을 반환해야 한다.
+     */
+    @Test
+    @DisplayName("동시에 더하고 읽어도 모든 변경이 반영된다")
+    void concurrentAdd() throws InterruptedException {
+        // given
+        LongBalanceMap map = new LongBalanceMap(4);
+        int threadCount = 8;
+        int iterations = 20_000;
+        int users = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        long id = i % users;
+                        map.add(id, 1L, i);
+                        map.get(ThreadLocalRandom.current().nextLong(users));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(map.size()).isEqualTo(users);
+        for (long id = 0; id < users; id++) {
+            assertThat(map.get(id).point()).isEqualTo((long) threadCount * iterations / users);
+        }
+    }
+}
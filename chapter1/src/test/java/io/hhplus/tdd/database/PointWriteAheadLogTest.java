@@ -0,0 +1,299 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandProcessor;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryWriter;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointValidator;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PointWriteAheadLogTest {
+    @TempDir
+    private Path directory;
+
+    private UserPointRepository userPointRepository;
+    private PointHistoryRepository pointHistoryRepository;
+
+    private PointWriteAheadLog create(DataSize segmentSize) {
+        userPointRepository = new UserPointRepository(new TableUserPointStorage(new UserPointTable()));
+        pointHistoryRepository = new PointHistoryRepository(new TablePointHistoryStorage(new PointHistoryTable()));
+        return new PointWriteAheadLog(
+            new PointWriteAheadLogProperties(true, directory, segmentSize, 1024, Duration.ZERO),
+            userPointRepository,
+            pointHistoryRepository
+        );
+    }
+
+    private PointWriteAheadLog start(DataSize segmentSize) {
+        PointWriteAheadLog log = create(segmentSize);
+        log.start();
+        return log;
+    }
+
+    private PointWriteAheadLog start() {
+        return start(DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void 재시작하면_기록한_순서대로_이력을_복구하고_잔액을_다시_계산한다() {
+        // given
+        PointWriteAheadLog log = start();
+        CompletableFuture.allOf(
+            log.append(1L, 1000L, TransactionType.CHARGE, 1L),
+            log.append(2L, 500L, TransactionType.CHARGE, 2L),
+            log.append(1L, 300L, TransactionType.USE, 3L)
+        ).join();
+        log.stop();
+
+        // when
+        start().stop();
+
+        // then
+        assertThat(pointHistoryRepository.findAllByUserId(1L))
+            .containsExactly(
+                new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, 1L, 300L, TransactionType.USE, 3L)
+            );
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(new UserPoint(1L, 700L, 3L));
+        assertThat(userPointRepository.selectById(2L)).isEqualTo(new UserPoint(2L, 500L, 2L));
+    }
+
+    @Test
+    void 응답한_잔액과_이력의_시각이_스냅샷과_이후_레코드로_재시작한_뒤에도_그대로_복구된다() throws IOException {
+        // given
+        PointWriteAheadLog log = start();
+        PointCommandProcessor processor = processor(log);
+        UserPoint charged = process(processor, TransactionType.CHARGE, 1000L);
+        log.snapshot();
+        UserPoint used = process(processor, TransactionType.USE, 300L);
+        List<PointHistory> histories = pointHistoryRepository.findAllByUserId(1L);
+        log.stop();
+
+        // when
+        start().stop();
+
+        // then
+        assertThat(histories).extracting(PointHistory::updateMillis).containsExactly(charged.updateMillis(), used.updateMillis());
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).isEqualTo(histories);
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(used);
+    }
+
+    @Test
+    void 복구_후_새로_기록한_이력의_id_는_복구한_마지막_id_뒤에_이어진다() {
+        // given
+        PointWriteAheadLog log = start();
+        log.append(1L, 1000L, TransactionType.CHARGE, 1L).join();
+        log.stop();
+        start().stop();
+
+        // when
+        PointHistory inserted = pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, 2L);
+
+        // then
+        assertThat(inserted.id()).isEqualTo(2L);
+    }
+
+    @Test
+    void 시작_전에_추가한_레코드는_복구가_끝난_뒤_기록하고_종료한_뒤의_기록은_거절한다() {
+        // given
+        PointWriteAheadLog log = create(DataSize.ofMegabytes(1));
+        CompletableFuture<Void> beforeStart = log.append(1L, 1000L, TransactionType.CHARGE, 1L);
+
+        // when
+        log.start();
+        beforeStart.join();
+        log.stop();
+        CompletableFuture<Void> afterStop = log.append(1L, 500L, TransactionType.CHARGE, 2L);
+        start().stop();
+
+        // then
+        assertThat(afterStop).isCompletedExceptionally();
+        assertThat(catchThrowable(afterStop::join)).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(pointHistoryRepository.findAllByUserId(1L))
+            .containsExactly(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 1L));
+    }
+
+    @Test
+    void 끝의_잘린_레코드는_버리고_그_자리부터_이어서_기록한다() throws IOException {
+        // given
+        PointWriteAheadLog log = start();
+        log.append(1L, 1000L, TransactionType.CHARGE, 1L).join();
+        log.stop();
+        try (Stream<Path> segments = Files.list(directory)) {
+            Path segment = segments.findFirst().orElseThrow();
+            Files.write(segment, new byte[PointWriteAheadLog.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+        }
+
+        // when
+        log = start();
+        log.append(1L, 200L, TransactionType.USE, 2L).join();
+        log.stop();
+        start().stop();
+
+        // then
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).hasSize(2);
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(new UserPoint(1L, 800L, 2L));
+    }
+
+    @Test
+    void 손상된_레코드_뒤에_유효한_레코드가_있으면_잘라내지_않고_시작을_중단한다() throws IOException {
+        // given
+        PointWriteAheadLog log = start();
+        for (int i = 1; i <= 3; i++) {
+            log.append(1L, 100L, TransactionType.CHARGE, i).join();
+        }
+        log.stop();
+        Path segment = segments().get(0);
+        corrupt(segment, PointWriteAheadLog.RECORD_SIZE);
+
+        // when
+        Throwable throwable = catchThrowable(this::start);
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+        assertThat(Files.size(segment)).isEqualTo(PointWriteAheadLog.RECORD_SIZE * 3L);
+    }
+
+    @Test
+    void 중간_세그먼트가_손상되면_이후_세그먼트를_지우지_않고_시작을_중단한다() throws IOException {
+        // given
+        PointWriteAheadLog log = start(DataSize.ofBytes(PointWriteAheadLog.RECORD_SIZE * 2L));
+        for (int i = 1; i <= 5; i++) {
+            log.append(1L, 100L, TransactionType.CHARGE, i).join();
+        }
+        log.stop();
+        List<Path> before = segments();
+        corrupt(before.get(0), PointWriteAheadLog.RECORD_SIZE);
+
+        // when
+        Throwable throwable = catchThrowable(() -> start(DataSize.ofBytes(PointWriteAheadLog.RECORD_SIZE * 2L)));
+
+        // then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+        assertThat(segments()).isEqualTo(before);
+    }
+
+    @Test
+    void 세그먼트_크기를_넘으면_다음_세그먼트에_기록하고_모두_복구한다() throws IOException {
+        // given
+        PointWriteAheadLog log = start(DataSize.ofBytes(PointWriteAheadLog.RECORD_SIZE * 2L));
+        for (int i = 1; i <= 5; i++) {
+            log.append(1L, 100L, TransactionType.CHARGE, i).join();
+        }
+        log.stop();
+
+        // when
+        start().stop();
+
+        // then
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertThat(segments.count()).isGreaterThan(1);
+        }
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).hasSize(5);
+        assertThat(userPointRepository.selectById(1L).point()).isEqualTo(500L);
+    }
+
+    @Test
+    void 스냅샷을_남기면_반영된_세그먼트를_지우고_스냅샷과_이후_레코드로_복구한다() throws IOException {
+        // given
+        PointWriteAheadLog log = start(DataSize.ofBytes(PointWriteAheadLog.RECORD_SIZE * 2L));
+        for (int i = 1; i <= 4; i++) {
+            log.append(1L, 100L, TransactionType.CHARGE, i).join();
+            pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, i);
+        }
+        log.snapshot();
+        log.append(1L, 50L, TransactionType.USE, 5L).join();
+        log.stop();
+
+        // when
+        start().stop();
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                .contains("%020d.snap".formatted(4))
+                .doesNotContain("%020d.wal".formatted(1));
+        }
+        assertThat(pointHistoryRepository.findAllByUserId(1L))
+            .extracting(PointHistory::id)
+            .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(new UserPoint(1L, 350L, 5L));
+    }
+
+    @Test
+    void 스냅샷에_담긴_이력의_종류를_그대로_복구한다() throws IOException {
+        // given
+        PointWriteAheadLog log = start();
+        log.append(1L, 1000L, TransactionType.CHARGE, 1L).join();
+        pointHistoryRepository.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        log.append(1L, 300L, TransactionType.USE, 2L).join();
+        pointHistoryRepository.insert(1L, 300L, TransactionType.USE, 2L);
+        log.snapshot();
+        log.stop();
+
+        // when
+        start().stop();
+
+        // then
+        assertThat(pointHistoryRepository.findAllByUserId(1L))
+            .containsExactly(
+                new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, 1L, 300L, TransactionType.USE, 2L)
+            );
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(new UserPoint(1L, 700L, 2L));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private static void corrupt(Path segment, int position) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[position + 8] ^= 1;
+        Files.write(segment, bytes);
+    }
+
+    private PointCommandProcessor processor(PointWriteAheadLog log) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointProperties pointProperties = new PointProperties(
+            new PointProperties.Combining(false),
+            new PointProperties.Cache(false, 0L, Duration.ZERO),
+            new PointProperties.History(10000),
+            new PointProperties.IoExecutor(8, 100)
+        );
+        return new PointCommandProcessor(
+            userPointRepository,
+            new PointValidator(meterRegistry),
+            new PointHistoryWriter(pointHistoryRepository, log, pointProperties),
+            new UserPointCache(pointProperties, meterRegistry)
+        );
+    }
+
+    private static UserPoint process(PointCommandProcessor processor, TransactionType type, long amount) {
+        PointCommand command = new PointCommand(type, amount);
+        processor.process(1L, List.of(command));
+        return command.await();
+    }
+}
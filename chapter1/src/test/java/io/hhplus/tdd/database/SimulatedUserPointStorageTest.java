@@ -0,0 +1,50 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.PointStorageProperties.Latency;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulatedUserPointStorageTest {
+    private final SimulatedUserPointStorage storage = new SimulatedUserPointStorage(new PointStorageProperties(
+        PointStorageProperties.Backend.SIMULATED, 0L, Latency.none(), Latency.none(), Latency.none()
+    ));
+
+    @Test
+    void 저장한_잔액과_저장_시각을_그대로_조회한다() {
+        // given
+        UserPoint saved = storage.insertOrUpdate(1L, 1000L);
+
+        // when
+        UserPoint found = storage.selectById(1L);
+
+        // then
+        assertThat(found).isEqualTo(saved);
+        assertThat(found.point()).isEqualTo(1000L);
+    }
+
+    @Test
+    void 같은_사용자의_잔액을_덮어쓰고_사용자_수는_한_번만_센다() {
+        // given
+        storage.insertOrUpdate(1L, 1000L);
+        storage.insertOrUpdate(2L, 500L);
+
+        // when
+        storage.insertOrUpdate(1L, 300L);
+
+        // then
+        assertThat(storage.selectById(1L).point()).isEqualTo(300L);
+        assertThat(storage.size()).isEqualTo(2);
+    }
+
+    @Test
+    void 저장된_잔액이_없으면_잔액_0_을_반환한다() {
+        // when
+        UserPoint found = storage.selectById(1L);
+
+        // then
+        assertThat(found.id()).isEqualTo(1L);
+        assertThat(found.point()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PointAsyncController.class)
+public class PointAsyncControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private PointService pointService;
+
+    @DisplayName("비동기 포인트 조회 테스트")
+    @Test
+    public void point() throws Exception {
+        // given
+        UserPoint userPoint = new UserPointFixture().create();
+        given(pointService.getPointAsync(userPoint.id())).willReturn(CompletableFuture.completedFuture(userPoint));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/async/{id}", userPoint.id()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(userPoint.id()))
+            .andExpect(jsonPath("$.point").value(userPoint.point()));
+    }
+
+    @DisplayName("비동기 포인트 충전 테스트")
+    @Test
+    public void charge() throws Exception {
+        // given
+        UserPoint userPoint = new UserPointFixture().create();
+        long amount = 100L;
+        given(pointService.chargeAsync(userPoint.id(), amount)).willReturn(CompletableFuture.completedFuture(userPoint));
+
+        // when
+        MvcResult result = mockMvc.perform(
+                patch("/point/async/{id}/charge", userPoint.id())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.valueOf(amount))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.point").value(userPoint.point()));
+    }
+
+    @DisplayName("비동기 포인트 사용 실패 테스트")
+    @Test
+    public void useFail() throws Exception {
+        // given
+        long amount = 100L;
+        given(pointService.useAsync(1L, amount))
+            .willReturn(CompletableFuture.failedFuture(new IllegalArgumentException("포인트가 부족합니다.")));
+
+        // when
+        MvcResult result = mockMvc.perform(
+                patch("/point/async/{id}/use", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.valueOf(amount))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("포인트가 부족합니다."));
+    }
+}
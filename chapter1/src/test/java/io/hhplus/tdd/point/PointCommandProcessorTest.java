@@ -0,0 +1,270 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PointCommandProcessorTest {
+    @InjectMocks
+    private PointCommandProcessor pointCommandProcessor;
+    @Mock
+    private UserPointRepository userPointRepository;
+    @Spy
+    private PointValidator pointValidator = new PointValidator(new SimpleMeterRegistry());
+    @Mock
+    private PointHistoryWriter pointHistoryWriter;
+    @Spy
+    private UserPointCache userPointCache = new UserPointCache(
+        new PointProperties(
+            new PointProperties.Combining(false),
+            new PointProperties.Cache(false, 0L, Duration.ZERO),
+            new PointProperties.History(10000),
+            new PointProperties.IoExecutor(8, 100)
+        ),
+        new SimpleMeterRegistry()
+    );
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(pointHistoryWriter.append(anyLong(), anyLong(), any(), anyLong()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @DisplayName("단건 처리 테스트")
+    @Nested
+    class processSingleTest {
+        @Test
+        void 충전_성공() {
+            // given
+            long amount = 100L;
+            UserPoint userPoint = new UserPointFixture().create();
+            UserPoint savedUserPoint = new UserPointFixture()
+                .setPoint(userPoint.point() + amount)
+                .create();
+            PointCommand command = new PointCommand(TransactionType.CHARGE, amount);
+
+            given(userPointRepository.selectById(userPoint.id()))
+                .willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), userPoint.point() + amount))
+                .willReturn(savedUserPoint);
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(command));
+
+            // then
+            assertThat(command.await()).isEqualTo(savedUserPoint);
+            verify(pointValidator).validateCharge(userPoint, amount);
+            InOrder inOrder = inOrder(userPointRepository, pointHistoryWriter, userPointCache);
+            inOrder.verify(userPointRepository).insertOrUpdate(userPoint.id(), userPoint.point() + amount);
+            inOrder.verify(pointHistoryWriter).append(savedUserPoint.id(), amount, TransactionType.CHARGE, savedUserPoint.updateMillis());
+            inOrder.verify(userPointCache).put(savedUserPoint);
+        }
+
+        @Test
+        void 사용_성공() {
+            // given
+            long amount = 100L;
+            UserPoint userPoint = new UserPointFixture().create();
+            UserPoint savedUserPoint = new UserPointFixture()
+                .setPoint(userPoint.point() - amount)
+                .create();
+            PointCommand command = new PointCommand(TransactionType.USE, amount);
+
+            given(userPointRepository.selectById(userPoint.id()))
+                .willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), userPoint.point() - amount))
+                .willReturn(savedUserPoint);
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(command));
+
+            // then
+            assertThat(command.await()).isEqualTo(savedUserPoint);
+            verify(pointValidator).validateUse(userPoint, amount);
+            verify(userPointRepository).insertOrUpdate(userPoint.id(), userPoint.point() - amount);
+            verify(pointHistoryWriter).append(savedUserPoint.id(), amount, TransactionType.USE, savedUserPoint.updateMillis());
+        }
+
+        @Test
+        void 검증_실패시_저장하지_않고_에러로_완료한다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().setPoint(100L).create();
+            PointCommand command = new PointCommand(TransactionType.USE, 200L);
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(command));
+
+            // then
+            Throwable throwable = catchThrowable(command::await);
+            assertThat(throwable).isInstanceOf(PointValidationException.class);
+            assertThat(throwable.getStackTrace()).isEmpty();
+            verify(userPointRepository, never()).insertOrUpdate(anyLong(), anyLong());
+        }
+
+        @Test
+        void WAL_기록에_실패하면_잔액을_되돌리고_에러로_완료한다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().setPoint(100L).create();
+            UserPoint savedUserPoint = new UserPointFixture().setPoint(200L).create();
+            UserPoint restoredUserPoint = new UserPointFixture().setPoint(100L).create();
+            PointCommand command = new PointCommand(TransactionType.CHARGE, 100L);
+            UncheckedIOException walFailure = new UncheckedIOException(new IOException("디스크가 가득 찼습니다."));
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 200L)).willReturn(savedUserPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 100L)).willReturn(restoredUserPoint);
+            given(pointHistoryWriter.append(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(CompletableFuture.failedFuture(walFailure));
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(command));
+
+            // then
+            assertThat(catchThrowable(command::await)).isSameAs(walFailure);
+            InOrder inOrder = inOrder(userPointRepository);
+            inOrder.verify(userPointRepository).insertOrUpdate(userPoint.id(), 200L);
+            inOrder.verify(userPointRepository).insertOrUpdate(userPoint.id(), 100L);
+            verify(userPointCache).put(restoredUserPoint);
+            verify(userPointCache, never()).put(savedUserPoint);
+        }
+    }
+
+    @DisplayName("여러 요청 결합 처리 테스트")
+    @Nested
+    class processCombinedTest {
+        @Test
+        void 여러_요청을_한번의_조회와_저장으로_처리한다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().setPoint(1000L).create();
+            UserPoint savedUserPoint = new UserPointFixture().setPoint(1250L).create();
+            PointCommand charge = new PointCommand(TransactionType.CHARGE, 300L);
+            PointCommand use = new PointCommand(TransactionType.USE, 150L);
+            PointCommand secondCharge = new PointCommand(TransactionType.CHARGE, 100L);
+
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 1250L)).willReturn(savedUserPoint);
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(charge, use, secondCharge));
+
+            // then
+            assertThat(charge.await().point()).isEqualTo(1300L);
+            assertThat(use.await().point()).isEqualTo(1150L);
+            assertThat(secondCharge.await()).isEqualTo(savedUserPoint);
+            verify(userPointRepository, times(1)).selectById(userPoint.id());
+            verify(userPointRepository, times(1)).insertOrUpdate(anyLong(), anyLong());
+        }
+
+        @Test
+        void 누적_잔액으로_검증해_실패한_요청만_에러로_완료한다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().setPoint(100L).create();
+            UserPoint savedUserPoint = new UserPointFixture().setPoint(50L).create();
+            PointCommand use = new PointCommand(TransactionType.USE, 50L);
+            PointCommand overUse = new PointCommand(TransactionType.USE, 80L);
+
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 50L)).willReturn(savedUserPoint);
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(use, overUse));
+
+            // then
+            assertThat(use.await()).isEqualTo(savedUserPoint);
+            assertThat(catchThrowable(overUse::await))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("포인트가 부족합니다. 현재 포인트: %d, 사용하려는 포인트: %d".formatted(50L, 80L));
+            verify(pointHistoryWriter, times(1)).append(anyLong(), anyLong(), any(), anyLong());
+        }
+
+        @Test
+        void WAL_기록에_실패한_요청부터는_되돌리고_앞의_요청만_반영한다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().setPoint(100L).create();
+            UserPoint savedUserPoint = new UserPointFixture().setPoint(350L).create();
+            UserPoint restoredUserPoint = new UserPointFixture().setPoint(200L).create();
+            PointCommand first = new PointCommand(TransactionType.CHARGE, 100L);
+            PointCommand second = new PointCommand(TransactionType.CHARGE, 200L);
+            PointCommand third = new PointCommand(TransactionType.USE, 50L);
+            UncheckedIOException walFailure = new UncheckedIOException(new IOException("디스크가 가득 찼습니다."));
+
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 350L)).willReturn(savedUserPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 200L)).willReturn(restoredUserPoint);
+            given(pointHistoryWriter.append(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(CompletableFuture.completedFuture(null))
+                .willReturn(CompletableFuture.failedFuture(walFailure));
+
+            // when
+            pointCommandProcessor.process(userPoint.id(), List.of(first, second, third));
+
+            // then
+            assertThat(first.await()).isEqualTo(new UserPoint(userPoint.id(), 200L, savedUserPoint.updateMillis()));
+            assertThat(catchThrowable(second::await)).isSameAs(walFailure);
+            assertThat(catchThrowable(third::await)).isSameAs(walFailure);
+            verify(userPointRepository, times(1)).insertOrUpdate(userPoint.id(), 200L);
+            verify(userPointCache).put(restoredUserPoint);
+        }
+
+        @Test
+        void 대기열의_요청을_한번에_처리하고_빈_대기열은_건너뛴다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().setPoint(0L).create();
+            UserPoint savedUserPoint = new UserPointFixture().setPoint(300L).create();
+            PointCommand first = pointCommandProcessor.enqueue(userPoint.id(), TransactionType.CHARGE, 100L);
+            PointCommand second = pointCommandProcessor.enqueue(userPoint.id(), TransactionType.CHARGE, 200L);
+
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+            given(userPointRepository.insertOrUpdate(userPoint.id(), 300L)).willReturn(savedUserPoint);
+
+            // when
+            pointCommandProcessor.drain(userPoint.id());
+            pointCommandProcessor.drain(userPoint.id());
+
+            // then
+            assertThat(first.await().point()).isEqualTo(100L);
+            assertThat(second.await()).isEqualTo(savedUserPoint);
+            verify(userPointRepository, times(1)).selectById(userPoint.id());
+        }
+
+        @Test
+        void 처리되지_않은_요청은_대기열에서_뺄_수_있다() {
+            // given
+            PointCommand command = pointCommandProcessor.enqueue(1L, TransactionType.CHARGE, 100L);
+
+            // when
+            boolean cancelled = pointCommandProcessor.cancel(1L, command);
+
+            // then
+            assertThat(cancelled).isTrue();
+            assertThat(pointCommandProcessor.cancel(1L, command)).isFalse();
+        }
+    }
+}
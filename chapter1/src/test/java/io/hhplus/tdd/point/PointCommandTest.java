@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PointCommandTest {
+
+    @Test
+    void 검증에_실패한_요청은_감싸지_않고_스택_트레이스_없는_예외를_그대로_던진다() {
+        // given
+        PointCommand command = new PointCommand(TransactionType.USE, 200L);
+        PointValidationException rejected = new PointValidationException(PointValidationError.INSUFFICIENT_BALANCE, 100L, 200L);
+        command.result().completeExceptionally(rejected);
+
+        // when
+        Throwable throwable = catchThrowable(command::await);
+
+        // then
+        assertThat(throwable).isSameAs(rejected);
+        assertThat(throwable.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void 완료되지_않은_요청은_완료될_때까지_기다린다() {
+        // given
+        PointCommand command = new PointCommand(TransactionType.CHARGE, 100L);
+        UserPoint saved = new UserPointFixture().create();
+        CompletableFuture.delayedExecutor(50L, TimeUnit.MILLISECONDS).execute(() -> command.result().complete(saved));
+
+        // when
+        UserPoint userPoint = command.await();
+
+        // then
+        assertThat(userPoint).isEqualTo(saved);
+    }
+
+    @Test
+    void 완료되지_않은_요청이_실패하면_완료될_때까지_기다린_뒤_예외를_그대로_던진다() {
+        // given
+        PointCommand command = new PointCommand(TransactionType.USE, 200L);
+        PointValidationException rejected = new PointValidationException(PointValidationError.INSUFFICIENT_BALANCE, 100L, 200L);
+        CompletableFuture.delayedExecutor(50L, TimeUnit.MILLISECONDS).execute(() -> command.result().completeExceptionally(rejected));
+
+        // when
+        Throwable throwable = catchThrowable(command::await);
+
+        // then
+        assertThat(throwable).isSameAs(rejected);
+    }
+}
@@ -1,5 +1,7 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.ErrorResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,13 +9,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PointController.class)
@@ -41,13 +49,37 @@ public class PointControllerTest {
             .andExpect(jsonPath("$.updateMillis").value(userPoint.updateMillis()));
     }
 
+    @DisplayName("포인트 다건 조회 테스트")
+    @Test
+    public void points() throws Exception {
+        // given
+        UserPoint first = new UserPointFixture().setId(1L).create();
+        UserPoint second = new UserPointFixture().setId(2L).create();
+        given(pointService.getPoints(List.of(1L, 2L))).willReturn(List.of(first, second));
+
+        // when & then
+        mockMvc.perform(get("/point").param("ids", "1,2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1L))
+            .andExpect(jsonPath("$[1].id").value(2L));
+
+        mockMvc.perform(
+                post("/point/query")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[1, 2]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1L))
+            .andExpect(jsonPath("$[1].id").value(2L));
+    }
+
     @DisplayName("포인트 이력 조회 테스트")
     @Test
     public void getHistories() throws Exception {
         // given
         UserPoint userPoint = new UserPointFixture().create();
         PointHistory pointHistory = new PointHistoryFixture().create();
-        given(pointService.getHistories(userPoint.id())).willReturn(List.of(pointHistory));
+        given(pointService.getHistories(userPoint.id(), PointHistoryQuery.all())).willReturn(List.of(pointHistory));
 
         // when & then
         mockMvc.perform(
@@ -62,6 +94,112 @@ public class PointControllerTest {
             .andExpect(jsonPath("$[0].updateMillis").value(pointHistory.updateMillis()));
     }
 
+    @DisplayName("포인트 이력 조건 조회 테스트")
+    @Test
+    public void getHistoriesWithQuery() throws Exception {
+        // given
+        PointHistory pointHistory = new PointHistoryFixture().setId(11L).create();
+        PointHistoryQuery query = new PointHistoryQuery(10L, 20, 1000L, 2000L, TransactionType.CHARGE);
+        given(pointService.getHistories(pointHistory.userId(), query)).willReturn(List.of(pointHistory));
+
+        // when & then
+        mockMvc.perform(
+                get("/point/{id}/histories", pointHistory.userId())
+                    .param("afterId", "10")
+                    .param("limit", "20")
+                    .param("from", "1000")
+                    .param("to", "2000")
+                    .param("type", "CHARGE")
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(pointHistory.id()));
+    }
+
+    @DisplayName("포인트 이력 조회 건수가 최대치를 넘으면 실패")
+    @Test
+    public void getHistoriesWithInvalidLimit() throws Exception {
+        // when & then
+        mockMvc.perform(
+                get("/point/{id}/histories", 1L)
+                    .param("limit", String.valueOf(PointHistoryQuery.MAX_LIMIT + 1))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("포인트 이력 스트리밍 테스트")
+    @Test
+    public void streamHistory() throws Exception {
+        // given
+        PointHistory first = new PointHistoryFixture().setId(1L).setUserId(1L).create();
+        PointHistory second = new PointHistoryFixture().setId(2L).setUserId(1L).create();
+        given(pointService.streamHistories(1L)).willReturn(Stream.of(first, second));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories/stream", 1L))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(ndjson(first, second)));
+    }
+
+    @DisplayName("여러 사용자의 포인트 이력 스트리밍 테스트")
+    @Test
+    public void streamHistories() throws Exception {
+        // given
+        PointHistory first = new PointHistoryFixture().setId(1L).setUserId(1L).create();
+        PointHistory second = new PointHistoryFixture().setId(2L).setUserId(2L).create();
+        given(pointService.streamHistories(1L)).willReturn(Stream.of(first));
+        given(pointService.streamHistories(2L)).willReturn(Stream.of(second));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/histories/stream").param("ids", "1,2"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string(ndjson(first, second)));
+    }
+
+    @DisplayName("포인트 일괄 처리 테스트")
+    @Test
+    public void batch() throws Exception {
+        // given
+        List<PointOperation> operations = List.of(
+            new PointOperation(1L, TransactionType.CHARGE, 100L),
+            new PointOperation(2L, TransactionType.USE, 100L)
+        );
+        UserPoint userPoint = new UserPointFixture().setId(1L).setPoint(100L).create();
+        given(pointService.batch(operations)).willReturn(List.of(
+            new PointOperationResult(1L, TransactionType.CHARGE, 100L, userPoint, null),
+            new PointOperationResult(2L, TransactionType.USE, 100L, null, new ErrorResponse("400", "포인트가 부족합니다."))
+        ));
+
+        // when & then
+        mockMvc.perform(
+                post("/point/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("""
+                        [
+                          {"userId": 1, "type": "CHARGE", "amount": 100},
+                          {"userId": 2, "type": "USE", "amount": 100}
+                        ]
+                        """)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].userPoint.point").value(100L))
+            .andExpect(jsonPath("$[0].error").doesNotExist())
+            .andExpect(jsonPath("$[1].userPoint").doesNotExist())
+            .andExpect(jsonPath("$[1].error.code").value("400"));
+    }
+
     @DisplayName("포인트 충전 테스트")
     @Test
     public void charge() throws Exception {
@@ -82,6 +220,23 @@ public class PointControllerTest {
             .andExpect(jsonPath("$.updateMillis").value(userPoint.updateMillis()));
     }
 
+    @DisplayName("동시 처리 한도를 넘으면 429 를 반환한다")
+    @Test
+    public void chargeRejected() throws Exception {
+        // given
+        given(pointService.charge(1L, 100L))
+            .willThrow(new ConcurrencyLimitExceededException("대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."));
+
+        // when & then
+        mockMvc.perform(
+                patch("/point/{id}/charge", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("100")
+            )
+            .andExpect(status().isTooManyRequests())
+            .andExpect(jsonPath("$.code").value("429"));
+    }
+
     @DisplayName("포인트 사용 테스트")
     @Test
     public void use() throws Exception {
@@ -101,4 +256,17 @@ public class PointControllerTest {
             .andExpect(jsonPath("$.point").value(userPoint.point()))
             .andExpect(jsonPath("$.updateMillis").value(userPoint.updateMillis()));
     }
+
+    private static String ndjson(PointHistory... histories) {
+        StringBuilder builder = new StringBuilder();
+        for (PointHistory history : histories) {
+            builder.append("{\"id\":").append(history.id())
+                .append(",\"userId\":").append(history.userId())
+                .append(",\"amount\":").append(history.amount())
+                .append(",\"type\":\"").append(history.type())
+                .append("\",\"updateMillis\":").append(history.updateMillis())
+                .append("}\n");
+        }
+        return builder.toString();
+    }
 }
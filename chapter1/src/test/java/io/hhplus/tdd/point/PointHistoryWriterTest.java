@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWriteAheadLog;
+import io.hhplus.tdd.database.PointStorageProperties;
+import io.hhplus.tdd.database.PointStorageProperties.Latency;
+import io.hhplus.tdd.database.PointWriteAheadLogProperties;
+import io.hhplus.tdd.database.SimulatedPointHistoryStorage;
+import io.hhplus.tdd.database.TablePointHistoryStorage;
+import io.hhplus.tdd.database.TableUserPointStorage;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistoryWriterTest {
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryTable = new PointHistoryTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new TablePointHistoryStorage(pointHistoryTable));
+        PointWriteAheadLog disabledLog = new PointWriteAheadLog(
+            new PointWriteAheadLogProperties(false, Path.of("data/wal"), DataSize.ofMegabytes(64), 1024, Duration.ZERO),
+            new UserPointRepository(new TableUserPointStorage(new UserPointTable())),
+            pointHistoryRepository
+        );
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, disabledLog, properties(10000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pointHistoryWriter.isRunning()) {
+            pointHistoryWriter.stop();
+        }
+    }
+
+    @Test
+    void 시작_전에는_호출한_스레드에서_바로_기록한다() {
+        // when
+        pointHistoryWriter.append(1L, 100L, TransactionType.CHARGE, 1L);
+
+        // then
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(1);
+    }
+
+    @Test
+    void 대기_중인_이력을_기다리면_사용자의_이력이_순서대로_기록되어_있다() {
+        // given
+        pointHistoryWriter.start();
+
+        // when
+        pointHistoryWriter.append(1L, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(2L, 300L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.append(1L, 50L, TransactionType.USE, 3L);
+        pointHistoryWriter.awaitPending(1L);
+
+        // then
+        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(1L);
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(100L, 50L);
+        assertThat(histories).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE, TransactionType.USE);
+    }
+
+    @Test
+    void 종료_시_큐에_남은_이력을_모두_기록한다() {
+        // given
+        pointHistoryWriter.start();
+        for (long userId = 1; userId <= 5; userId++) {
+            pointHistoryWriter.append(userId, 100L, TransactionType.CHARGE, userId);
+        }
+
+        // when
+        pointHistoryWriter.stop();
+
+        // then
+        for (long userId = 1; userId <= 5; userId++) {
+            assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(1);
+        }
+    }
+
+    @Test
+    void 종료_중에_추가된_이력도_사용자별_순서대로_기록한다() throws InterruptedException {
+        // given
+        PointHistoryRepository repository = new PointHistoryRepository(new SimulatedPointHistoryStorage(new PointStorageProperties(
+            PointStorageProperties.Backend.SIMULATED, 0L, Latency.none(), Latency.none(), Latency.fixed(Duration.ofMillis(1))
+        )));
+        PointWriteAheadLog disabledLog = new PointWriteAheadLog(
+            new PointWriteAheadLogProperties(false, Path.of("data/wal"), DataSize.ofMegabytes(64), 1024, Duration.ZERO),
+            new UserPointRepository(new TableUserPointStorage(new UserPointTable())),
+            repository
+        );
+        PointHistoryWriter writer = new PointHistoryWriter(repository, disabledLog, properties(10000));
+        writer.start();
+        int count = 500;
+        Thread appender = new Thread(() -> {
+            for (long amount = 1; amount <= count; amount++) {
+                writer.append(1L, amount, TransactionType.CHARGE, amount);
+            }
+        });
+
+        // when
+        appender.start();
+        Thread.sleep(20);
+        writer.stop();
+        appender.join();
+
+        // then
+        List<Long> amounts = repository.findAllByUserId(1L).stream().map(PointHistory::amount).toList();
+        assertThat(amounts).hasSize(count).isSorted();
+    }
+
+    @Test
+    void 대기열이_가득_차면_앞의_이력이_기록될_때까지_기다린다() throws InterruptedException {
+        // given
+        PointHistoryRepository repository = new PointHistoryRepository(new SimulatedPointHistoryStorage(new PointStorageProperties(
+            PointStorageProperties.Backend.SIMULATED, 0L, Latency.none(), Latency.none(), Latency.fixed(Duration.ofMillis(300))
+        )));
+        PointWriteAheadLog disabledLog = new PointWriteAheadLog(
+            new PointWriteAheadLogProperties(false, Path.of("data/wal"), DataSize.ofMegabytes(64), 1024, Duration.ZERO),
+            new UserPointRepository(new TableUserPointStorage(new UserPointTable())),
+            repository
+        );
+        PointHistoryWriter writer = new PointHistoryWriter(repository, disabledLog, properties(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        writer.bindTo(meterRegistry);
+        writer.start();
+        writer.append(1L, 100L, TransactionType.CHARGE, 1L);
+        Thread appender = new Thread(() -> writer.append(2L, 200L, TransactionType.CHARGE, 2L));
+
+        // when
+        appender.start();
+        Thread.sleep(50);
+
+        // then
+        assertThat(appender.isAlive()).isTrue();
+        assertThat(meterRegistry.get("point.history.pending").gauge().value()).isEqualTo(1.0);
+
+        appender.join();
+        writer.stop();
+        assertThat(repository.findAllByUserId(1L)).hasSize(1);
+        assertThat(repository.findAllByUserId(2L)).hasSize(1);
+        assertThat(writer.pending()).isZero();
+    }
+
+    private static PointProperties properties(int maxPending) {
+        return new PointProperties(
+            new PointProperties.Combining(false),
+            new PointProperties.Cache(false, 0L, Duration.ZERO),
+            new PointProperties.History(maxPending),
+            new PointProperties.IoExecutor(8, 100)
+        );
+    }
+}
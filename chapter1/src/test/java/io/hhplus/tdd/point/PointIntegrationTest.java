@@ -1,5 +1,7 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.ColumnarPointHistoryIndex;
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import org.junit.jupiter.api.AfterEach;
@@ -32,12 +34,21 @@ public class PointIntegrationTest {
     private UserPointTable userPointTable;
     @Autowired
     private PointHistoryTable pointHistoryTable;
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+    @Autowired
+    private PointHistoryWriter pointHistoryWriter;
+    @Autowired
+    private UserPointCache userPointCache;
 
     @AfterEach
     void setUp() {
+        pointHistoryWriter.awaitAll();
+        userPointCache.invalidateAll();
         ReflectionTestUtils.setField(userPointTable, "table", new HashMap<>());
         ReflectionTestUtils.setField(pointHistoryTable, "table", new ArrayList<>());
         ReflectionTestUtils.setField(pointHistoryTable, "cursor", 1);
+        ReflectionTestUtils.setField(pointHistoryRepository, "index", new ColumnarPointHistoryIndex());
     }
 
     @Nested
@@ -171,6 +182,8 @@ public class PointIntegrationTest {
             assertThat(resultPoint.id()).isEqualTo(savedPoint.id());
             assertThat(resultPoint.point()).isEqualTo(expectedAmount);
 
+            pointHistoryWriter.awaitPending(savedPoint.id());
+
             List<PointHistory> resultHistories = pointHistoryTable.selectAllByUserId(savedPoint.id());
             PointHistory latestHistory = resultHistories.get(resultHistories.size() - 1);
             assertThat(latestHistory.id()).isPositive();
@@ -199,6 +212,7 @@ public class PointIntegrationTest {
             UserPoint result = userPointTable.selectById(saved.id());
             assertThat(result.id()).isEqualTo(saved.id());
             assertThat(result.point()).isEqualTo(expectedAmount);
+            pointHistoryWriter.awaitPending(saved.id());
             List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(saved.id());
             List<PointHistory> latestHistories = pointHistories.subList(pointHistories.size() - 2, pointHistories.size());
             assertThat(latestHistories.get(0).amount()).isEqualTo(chargeAmounts.get(0));
@@ -261,13 +275,13 @@ public class PointIntegrationTest {
 
     private UserPoint saveUserPoint() {
         var saved = userPointTable.insertOrUpdate(1L, 100L);
-        pointHistoryTable.insert(saved.id(), saved.point(), TransactionType.CHARGE, saved.updateMillis());
+        pointHistoryRepository.insert(saved.id(), saved.point(), TransactionType.CHARGE, saved.updateMillis());
         return saved;
     }
 
     private UserPoint saveUserPoint(UserPoint userPoint) {
         var saved = userPointTable.insertOrUpdate(userPoint.id(), userPoint.point());
-        pointHistoryTable.insert(saved.id(), userPoint.point(), TransactionType.CHARGE, saved.updateMillis());
+        pointHistoryRepository.insert(saved.id(), userPoint.point(), TransactionType.CHARGE, saved.updateMillis());
         return saved;
     }
 
@@ -292,6 +306,8 @@ public class PointIntegrationTest {
             assertThat(result.id()).isEqualTo(savedPoint.id());
             assertThat(result.point()).isEqualTo(expectedAmount);
 
+            pointHistoryWriter.awaitPending(savedPoint.id());
+
             List<PointHistory> resultHistories = pointHistoryTable.selectAllByUserId(savedPoint.id());
             PointHistory latestHistory = resultHistories.get(resultHistories.size() - 1);
             assertThat(latestHistory.userId()).isEqualTo(savedPoint.id());
@@ -322,6 +338,8 @@ public class PointIntegrationTest {
             assertThat(resultPoint.id()).isEqualTo(savedPoint.id());
             assertThat(resultPoint.point()).isEqualTo(expectedAmount);
 
+            pointHistoryWriter.awaitPending(savedPoint.id());
+
             List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(savedPoint.id());
             List<PointHistory> latestHistories = pointHistories.subList(pointHistories.size() - 2, pointHistories.size());
             assertThat(latestHistories.get(0).userId()).isEqualTo(savedPoint.id());
@@ -352,6 +370,7 @@ public class PointIntegrationTest {
             // 포인트와 이력이 변경되지 않았는지 확인
             UserPoint resultPoint = userPointTable.selectById(savedPoint.id());
             assertThat(resultPoint.point()).isEqualTo(initialPoint);
+            pointHistoryWriter.awaitPending(savedPoint.id());
             List<PointHistory> resultHistories = pointHistoryTable.selectAllByUserId(savedPoint.id());
             assertThat(resultHistories).isEmpty();
         }
@@ -1,30 +1,177 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.ConcurrencyControlProperties;
+import io.hhplus.tdd.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.KeyedSerialExecutor;
+import io.hhplus.tdd.LockMode;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongFunction;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class PointServiceTest {
-    @InjectMocks
-    private PointService pointService;
     @Mock
-    private UserPointTable userPointTable;
+    private UserPointRepository userPointRepository;
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
     @Mock
     private PointValidator pointValidator;
+    @Mock
+    private PointHistoryWriter pointHistoryWriter;
+    @Mock
+    private PointCommandProcessor pointCommandProcessor;
+    @Mock
+    private UserPointCache userPointCache;
+
+    private PointService pointService(boolean combining) {
+        return pointService(combining, Runnable::run);
+    }
+
+    private PointService pointService(boolean combining, Executor ioExecutor) {
+        return pointService(combining, ioExecutor, new KeyedSerialExecutor(new TaskExecutorAdapter(Runnable::run)), -1);
+    }
+
+    private PointService pointService(
+        boolean combining,
+        Executor ioExecutor,
+        KeyedSerialExecutor keyedSerialExecutor,
+        int maxQueueDepth
+    ) {
+        return new PointService(
+            userPointRepository,
+            pointHistoryRepository,
+            pointValidator,
+            pointHistoryWriter,
+            pointCommandProcessor,
+            new PointProperties(
+                new PointProperties.Combining(combining),
+                new PointProperties.Cache(true, 100L, Duration.ofMinutes(1)),
+                new PointProperties.History(10000),
+                new PointProperties.IoExecutor(8, 100)
+            ),
+            userPointCache,
+            new PointIoExecutor(ioExecutor),
+            keyedSerialExecutor,
+            new ConcurrencyControlProperties(LockMode.PER_KEY, 1024, 8, maxQueueDepth, 0)
+        );
+    }
+
+    @DisplayName("조회 기능 테스트")
+    @Nested
+    class getPointTest {
+        @Test
+        void 캐시를_통해_조회하고_미스일때만_테이블을_조회한다() {
+            // given
+            UserPoint userPoint = new UserPointFixture().create();
+            given(userPointCache.get(eq(userPoint.id()), any())).willAnswer(invocation -> {
+                LongFunction<UserPoint> loader = invocation.getArgument(1);
+                return loader.apply(userPoint.id());
+            });
+            given(userPointRepository.selectById(userPoint.id())).willReturn(userPoint);
+
+            // when
+            UserPoint result = pointService(false).getPoint(userPoint.id());
+
+            // then
+            assertThat(result).isEqualTo(userPoint);
+            verify(userPointRepository).selectById(userPoint.id());
+        }
+    }
+
+    @DisplayName("다건 조회 기능 테스트")
+    @Nested
+    class getPointsTest {
+        @Test
+        void 캐시에_있는_값은_바로_사용하고_나머지만_조회한다() {
+            // given
+            UserPoint cached = new UserPointFixture().setId(1L).create();
+            UserPoint loaded = new UserPointFixture().setId(2L).create();
+            given(userPointCache.getIfPresent(1L)).willReturn(cached);
+            given(userPointCache.getIfPresent(2L)).willReturn(null);
+            given(userPointCache.get(eq(2L), any())).willReturn(loaded);
+
+            // when
+            List<UserPoint> result = pointService(false).getPoints(List.of(2L, 1L));
+
+            // then
+            assertThat(result).containsExactly(loaded, cached);
+            verify(userPointCache, never()).get(eq(1L), any());
+        }
+
+        @Test
+        void 중복_id_는_한_번만_조회하고_요청한_위치마다_결과를_반환한다() {
+            // given
+            UserPoint first = new UserPointFixture().setId(1L).create();
+            UserPoint second = new UserPointFixture().setId(2L).create();
+            given(userPointCache.getIfPresent(anyLong())).willReturn(null);
+            given(userPointCache.get(eq(1L), any())).willReturn(first);
+            given(userPointCache.get(eq(2L), any())).willReturn(second);
+
+            // when
+            List<UserPoint> result = pointService(false).getPoints(List.of(2L, 1L, 2L));
+
+            // then
+            assertThat(result).containsExactly(second, first, second);
+            verify(userPointCache).get(eq(2L), any());
+        }
+
+        @Test
+        void 조회_작업이_거절되면_동시_처리_한도_초과로_실패한다() {
+            // given
+            given(userPointCache.getIfPresent(1L)).willReturn(null);
+            Executor rejecting = task -> {
+                throw new RejectedExecutionException("TEST REJECTED");
+            };
+
+            // when
+            Throwable throwable = catchThrowable(() -> pointService(false, rejecting).getPoints(List.of(1L)));
+
+            // then
+            assertThat(throwable).isInstanceOf(ConcurrencyLimitExceededException.class);
+        }
+
+        @Test
+        void 최대_사용자_수를_넘으면_실패한다() {
+            // given
+            List<Long> ids = Collections.nCopies(PointService.MAX_MULTI_GET_SIZE + 1, 1L);
+
+            // when
+            Throwable throwable = catchThrowable(() -> pointService(false).getPoints(ids));
+
+            // then
+            assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
 
     @DisplayName("충전 기능 테스트")
     @Nested
@@ -33,24 +180,37 @@ class PointServiceTest {
         void 성공() {
             // given
             long amount = 100L;
-            UserPoint userPoint = new UserPointFixture().create();
-            UserPoint savedUserPoint = new UserPointFixture()
-                .setPoint(userPoint.point() + amount)
-                .create();
+            UserPoint savedUserPoint = new UserPointFixture().create();
+            willAnswer(invocation -> {
+                List<PointCommand> commands = invocation.getArgument(1);
+                commands.get(0).result().complete(savedUserPoint);
+                return null;
+            }).given(pointCommandProcessor).process(eq(savedUserPoint.id()), anyList());
+
+            // when
+            UserPoint result = pointService(false).charge(savedUserPoint.id(), amount);
+
+            // then
+            assertThat(result).isEqualTo(savedUserPoint);
+            verify(pointCommandProcessor, never()).enqueue(anyLong(), eq(TransactionType.CHARGE), anyLong());
+        }
 
-            given(userPointTable.selectById(userPoint.id()))
-                .willReturn(userPoint);
-            given(userPointTable.insertOrUpdate(userPoint.id(), userPoint.point() + amount))
-                .willReturn(savedUserPoint);
+        @Test
+        void 검증_실패시_에러를_그대로_던진다() {
+            // given
+            long amount = 100L;
+            IllegalArgumentException error = new IllegalArgumentException("검증 실패");
+            willAnswer(invocation -> {
+                List<PointCommand> commands = invocation.getArgument(1);
+                commands.get(0).result().completeExceptionally(error);
+                return null;
+            }).given(pointCommandProcessor).process(eq(1L), anyList());
 
             // when
-            Throwable throwable = catchThrowable(() -> pointService.charge(userPoint.id(), amount));
+            Throwable throwable = catchThrowable(() -> pointService(false).charge(1L, amount));
 
             // then
-            assertThat(throwable).isNull();
-            verify(pointValidator).validateCharge(userPoint, amount);
-            verify(userPointTable).insertOrUpdate(userPoint.id(), userPoint.point() + amount);
-            verify(pointHistoryTable).insert(savedUserPoint.id(), amount, TransactionType.CHARGE, savedUserPoint.updateMillis());
+            assertThat(throwable).isSameAs(error);
         }
     }
 
@@ -61,24 +221,242 @@ class PointServiceTest {
         void 성공() {
             // given
             long amount = 100L;
-            UserPoint userPoint = new UserPointFixture().create();
-            UserPoint savedUserPoint = new UserPointFixture()
-                .setPoint(userPoint.point() - amount)
-                .create();
+            UserPoint savedUserPoint = new UserPointFixture().create();
+            willAnswer(invocation -> {
+                List<PointCommand> commands = invocation.getArgument(1);
+                assertThat(commands.get(0).type()).isEqualTo(TransactionType.USE);
+                commands.get(0).result().complete(savedUserPoint);
+                return null;
+            }).given(pointCommandProcessor).process(eq(savedUserPoint.id()), anyList());
+
+            // when
+            UserPoint result = pointService(false).use(savedUserPoint.id(), amount);
+
+            // then
+            assertThat(result).isEqualTo(savedUserPoint);
+        }
+    }
+
+    @DisplayName("결합 모드 테스트")
+    @Nested
+    class combiningTest {
+        @Test
+        void 대기열에_넣은_뒤_락을_잡고_처리한다() {
+            // given
+            UserPoint savedUserPoint = new UserPointFixture().create();
+            PointCommand command = new PointCommand(TransactionType.CHARGE, 100L);
+            given(pointCommandProcessor.enqueue(savedUserPoint.id(), TransactionType.CHARGE, 100L))
+                .willReturn(command);
+            willAnswer(invocation -> command.result().complete(savedUserPoint))
+                .given(pointCommandProcessor).drain(savedUserPoint.id());
+
+            // when
+            UserPoint result = pointService(true).charge(savedUserPoint.id(), 100L);
+
+            // then
+            assertThat(result).isEqualTo(savedUserPoint);
+            InOrder inOrder = inOrder(pointCommandProcessor);
+            inOrder.verify(pointCommandProcessor).enqueue(savedUserPoint.id(), TransactionType.CHARGE, 100L);
+            inOrder.verify(pointCommandProcessor).drain(savedUserPoint.id());
+        }
 
-            given(userPointTable.selectById(userPoint.id()))
-                .willReturn(userPoint);
-            given(userPointTable.insertOrUpdate(userPoint.id(), userPoint.point() - amount))
-                .willReturn(savedUserPoint);
+        @Test
+        void 락_획득에_실패하면_대기열에서_요청을_빼고_실패한다() {
+            // given
+            PointCommand command = new PointCommand(TransactionType.CHARGE, 100L);
+            RuntimeException error = new RuntimeException("락 획득 실패");
+            given(pointCommandProcessor.enqueue(1L, TransactionType.CHARGE, 100L)).willReturn(command);
+            willThrow(error).given(pointCommandProcessor).drain(1L);
+            given(pointCommandProcessor.cancel(1L, command)).willReturn(true);
+
+            // when
+            Throwable throwable = catchThrowable(() -> pointService(true).charge(1L, 100L));
+
+            // then
+            assertThat(throwable).isSameAs(error);
+        }
+    }
+
+    @DisplayName("이력 조회 기능 테스트")
+    @Nested
+    class getHistoriesTest {
+        @Test
+        void 대기_중인_이력_기록을_기다린_뒤_조회한다() {
+            // given
+            PointHistory pointHistory = new PointHistoryFixture().create();
+            given(pointHistoryRepository.findAllByUserId(pointHistory.userId()))
+                .willReturn(List.of(pointHistory));
+
+            // when
+            List<PointHistory> result = pointService(false).getHistories(pointHistory.userId());
+
+            // then
+            assertThat(result).containsExactly(pointHistory);
+            InOrder inOrder = inOrder(pointHistoryWriter, pointHistoryRepository);
+            inOrder.verify(pointHistoryWriter).awaitPending(pointHistory.userId());
+            inOrder.verify(pointHistoryRepository).findAllByUserId(pointHistory.userId());
+        }
+    }
+
+    @DisplayName("비동기 기능 테스트")
+    @Nested
+    class asyncTest {
+        @Test
+        void 캐시에_있는_값은_완료된_future_로_반환한다() {
+            // given
+            UserPoint cached = new UserPointFixture().create();
+            given(userPointCache.getIfPresent(cached.id())).willReturn(cached);
+
+            // when
+            CompletableFuture<UserPoint> result = pointService(false).getPointAsync(cached.id());
+
+            // then
+            assertThat(result).isCompletedWithValue(cached);
+            verify(userPointCache, never()).get(anyLong(), any());
+        }
+
+        @Test
+        void 충전_요청을_사용자_락_안에서_처리하고_결과로_완료한다() {
+            // given
+            UserPoint savedUserPoint = new UserPointFixture().create();
+            willAnswer(invocation -> {
+                List<PointCommand> commands = invocation.getArgument(1);
+                commands.get(0).result().complete(savedUserPoint);
+                return null;
+            }).given(pointCommandProcessor).process(eq(savedUserPoint.id()), anyList());
+
+            // when
+            CompletableFuture<UserPoint> result = pointService(false).chargeAsync(savedUserPoint.id(), 100L);
+
+            // then
+            assertThat(result).isCompletedWithValue(savedUserPoint);
+        }
+
+        @Test
+        void 차례를_기다리는_요청이_최대_대기_수에_도달하면_바로_거절한다() {
+            // given
+            List<Runnable> notStarted = new ArrayList<>();
+            KeyedSerialExecutor keyedSerialExecutor = new KeyedSerialExecutor(new TaskExecutorAdapter(notStarted::add));
+            PointService pointService = pointService(false, Runnable::run, keyedSerialExecutor, 1);
+            pointService.chargeAsync(1L, 100L);
+            pointService.chargeAsync(1L, 100L);
+
+            // when
+            Throwable throwable = catchThrowable(() -> pointService.useAsync(1L, 100L));
+
+            // then
+            assertThat(throwable).isInstanceOf(ConcurrencyLimitExceededException.class);
+            assertThat(keyedSerialExecutor.waiting(1L)).isEqualTo(1);
+        }
+
+        @Test
+        void 락_획득에_실패하면_예외로_완료한다() {
+            // given
+            RuntimeException error = new RuntimeException("락 획득 실패");
+            willThrow(error).given(pointCommandProcessor).process(eq(1L), anyList());
+
+            // when
+            CompletableFuture<UserPoint> result = pointService(false).useAsync(1L, 100L);
+
+            // then
+            assertThat(result).isCompletedExceptionally();
+            assertThat(catchThrowable(result::join)).hasCause(error);
+        }
+    }
+
+    @DisplayName("일괄 처리 기능 테스트")
+    @Nested
+    class batchTest {
+        @Test
+        void 사용자별로_묶어_처리하고_요청_순서대로_결과를_반환한다() {
+            // given
+            List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 200L),
+                new PointOperation(1L, TransactionType.USE, 50L)
+            );
+            willAnswer(invocation -> {
+                long id = invocation.getArgument(0);
+                List<PointCommand> commands = invocation.getArgument(1);
+                long balance = 0L;
+                for (PointCommand command : commands) {
+                    balance = command.applyTo(balance);
+                    command.result().complete(new UserPoint(id, balance, 0L));
+                }
+                return null;
+            }).given(pointCommandProcessor).process(anyLong(), anyList());
+
+            // when
+            List<PointOperationResult> results = pointService(false).batch(operations);
+
+            // then
+            verify(pointCommandProcessor).process(eq(1L), argThat(commands -> commands.size() == 2));
+            verify(pointCommandProcessor).process(eq(2L), argThat(commands -> commands.size() == 1));
+            assertThat(results).extracting(PointOperationResult::userId).containsExactly(1L, 2L, 1L);
+            assertThat(results).extracting(result -> result.userPoint().point()).containsExactly(100L, 200L, 50L);
+            assertThat(results).allMatch(result -> result.error() == null);
+        }
+
+        @Test
+        void 실패한_사용자의_요청에만_에러를_담는다() {
+            // given
+            List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.USE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 100L)
+            );
+            willAnswer(invocation -> {
+                List<PointCommand> commands = invocation.getArgument(1);
+                commands.get(0).result().completeExceptionally(new IllegalArgumentException("포인트가 부족합니다."));
+                return null;
+            }).given(pointCommandProcessor).process(eq(1L), anyList());
+            willThrow(new RuntimeException("락 획득 실패"))
+                .given(pointCommandProcessor).process(eq(2L), anyList());
+
+            // when
+            List<PointOperationResult> results = pointService(false).batch(operations);
+
+            // then
+            assertThat(results.get(0).userPoint()).isNull();
+            assertThat(results.get(0).error().code()).isEqualTo("400");
+            assertThat(results.get(0).error().message()).isEqualTo("포인트가 부족합니다.");
+            assertThat(results.get(1).error().code()).isEqualTo("500");
+        }
+
+        @Test
+        void 작업이_거절되거나_Error_가_발생해도_요청이_완료되지_않은_채_남지_않는다() {
+            // given
+            List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 100L)
+            );
+            willThrow(new AssertionError("TEST ERROR"))
+                .given(pointCommandProcessor).process(anyLong(), anyList());
+            Executor rejecting = task -> {
+                throw new RejectedExecutionException("TEST REJECTED");
+            };
+
+            // when
+            List<PointOperationResult> failed = pointService(false).batch(operations);
+            List<PointOperationResult> rejected = pointService(false, rejecting).batch(operations);
+
+            // then
+            assertThat(failed).allMatch(result -> result.userPoint() == null && "500".equals(result.error().code()));
+            assertThat(rejected).allMatch(result -> result.userPoint() == null && "500".equals(result.error().code()));
+        }
+
+        @Test
+        void 최대_건수를_넘으면_실패한다() {
+            // given
+            List<PointOperation> operations = Collections.nCopies(
+                PointService.MAX_BATCH_SIZE + 1, new PointOperation(1L, TransactionType.CHARGE, 100L)
+            );
 
             // when
-            Throwable throwable = catchThrowable(() -> pointService.use(userPoint.id(), amount));
+            Throwable throwable = catchThrowable(() -> pointService(false).batch(operations));
 
             // then
-            assertThat(throwable).isNull();
-            verify(pointValidator).validateUse(userPoint, amount);
-            verify(userPointTable).insertOrUpdate(userPoint.id(), userPoint.point() - amount);
-            verify(pointHistoryTable).insert(savedUserPoint.id(), savedUserPoint.point(), TransactionType.USE, savedUserPoint.updateMillis());
+            assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+            verify(pointCommandProcessor, never()).process(anyLong(), anyList());
         }
     }
-}
\ No newline at end of file
+}
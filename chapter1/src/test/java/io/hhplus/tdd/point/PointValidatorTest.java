@@ -1,5 +1,6 @@
 package io.hhplus.tdd.point;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,11 +11,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 
 class PointValidatorTest {
+    private SimpleMeterRegistry meterRegistry;
     private PointValidator pointValidator;
 
     @BeforeEach
     void setUp() {
-        pointValidator = new PointValidator();
+        meterRegistry = new SimpleMeterRegistry();
+        pointValidator = new PointValidator(meterRegistry);
     }
 
     @DisplayName("포인트 충전 검증 테스트")
@@ -158,4 +161,50 @@ class PointValidatorTest {
                 .hasMessage(expectedMessage);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void 검증_결과는_에러_코드로_반환하고_실패_예외에는_스택_트레이스가_없다() {
+        // given
+        long point = 100L;
+
+        // when
+        PointValidationError overCharge = pointValidator.checkCharge(point, UserPoint.MAX_CHARGE_AMOUNT + 1);
+        PointValidationError valid = pointValidator.checkUse(point, 50L);
+        PointValidationError insufficient = pointValidator.checkUse(point, 200L);
+        Throwable throwable = catchThrowable(() -> pointValidator.validateUse(new UserPointFixture().setPoint(point).create(), 200L));
+
+        // then
+        assertThat(overCharge).isEqualTo(PointValidationError.CHARGE_MAX_AMOUNT);
+        assertThat(valid).isNull();
+        assertThat(insufficient).isEqualTo(PointValidationError.INSUFFICIENT_BALANCE);
+        assertThat(throwable).isInstanceOf(PointValidationException.class);
+        PointValidationException exception = (PointValidationException) throwable;
+        assertThat(exception.error()).isEqualTo(PointValidationError.INSUFFICIENT_BALANCE);
+        assertThat(exception.point()).isEqualTo(point);
+        assertThat(exception.amount()).isEqualTo(200L);
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void 검증에_실패하면_어긴_규칙별로_실패_횟수를_센다() {
+        // given
+        UserPoint userPoint = new UserPointFixture()
+            .setPoint(100L)
+            .create();
+
+        // when
+        catchThrowable(() -> pointValidator.validateCharge(userPoint, UserPoint.MAX_CHARGE_AMOUNT + 1));
+        catchThrowable(() -> pointValidator.validateUse(userPoint, 200L));
+        catchThrowable(() -> pointValidator.validateUse(userPoint, 300L));
+        pointValidator.validateUse(userPoint, 50L);
+
+        // then
+        assertThat(failures("charge-max-amount")).isEqualTo(1.0);
+        assertThat(failures("insufficient-balance")).isEqualTo(2.0);
+        assertThat(failures("use-min-amount")).isZero();
+    }
+
+    private double failures(String rule) {
+        return meterRegistry.get("point.validation.failures").tag("rule", rule).counter().count();
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * 가상 스레드 모드에서 동시에 처리 중인 요청 수가 플랫폼 스레드 풀 크기에 묶이지 않는지 확인한다.
+ * 모든 요청이 테이블 조회 안에서 동시에 만나야 배리어가 열리므로, 풀 크기만큼만 처리된다면 타임아웃으로 실패한다.
+ * 같은 사용자에 대한 충전/사용은 사용자 락을 기다리며 쌓이므로, 락 대기가 캐리어 스레드를 고정하면 제한 시간 안에 끝나지 않는다.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=" + PointVirtualThreadTest.PLATFORM_THREADS,
+        "concurrency-control.max-queue-depth=-1",
+        "concurrency-control.max-in-flight=0"
+    }
+)
+public class PointVirtualThreadTest {
+    static final int PLATFORM_THREADS = 10;
+    private static final int REQUEST_COUNT = 200;
+    private static final long WRITE_USER_ID = 1_000L;
+
+    @LocalServerPort
+    private int port;
+    @SpyBean
+    private UserPointTable userPointTable;
+    @Autowired
+    private UserPointCache userPointCache;
+
+    @AfterEach
+    void tearDown() {
+        userPointCache.invalidateAll();
+    }
+
+    @Test
+    void 가상_스레드_모드에서는_플랫폼_스레드_풀보다_많은_요청을_동시에_처리한다() {
+        // given
+        CyclicBarrier barrier = new CyclicBarrier(REQUEST_COUNT);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+        willAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                return invocation.callRealMethod();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }).given(userPointTable).selectById(anyLong());
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+        // when
+        List<CompletableFuture<HttpResponse<String>>> responses = LongStream.rangeClosed(1, REQUEST_COUNT)
+            .mapToObj(id -> client.sendAsync(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + id)).build(),
+                HttpResponse.BodyHandlers.ofString()
+            ))
+            .toList();
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(responses).allMatch(response -> response.join().statusCode() == 200);
+        assertThat(maxInFlight.get()).isEqualTo(REQUEST_COUNT).isGreaterThan(PLATFORM_THREADS);
+        assertThat(virtualThreads).containsExactly(true);
+    }
+
+    @Test
+    void 가상_스레드_모드에서_같은_사용자에_대한_동시_충전과_사용이_제한_시간_안에_모두_반영된다() throws Exception {
+        // given
+        userPointTable.insertOrUpdate(WRITE_USER_ID, 10_000L);
+        Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+        willAnswer(invocation -> {
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            return invocation.callRealMethod();
+        }).given(userPointTable).insertOrUpdate(eq(WRITE_USER_ID), anyLong());
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+        int chargeCount = 20;
+        int useCount = 10;
+
+        // when
+        List<CompletableFuture<HttpResponse<String>>> responses = Stream.concat(
+                IntStream.range(0, chargeCount).mapToObj(i -> patch(client, "charge", 1_000L)),
+                IntStream.range(0, useCount).mapToObj(i -> patch(client, "use", 100L))
+            )
+            .toList();
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+        // then
+        assertThat(responses).allMatch(response -> response.join().statusCode() == 200);
+        assertThat(userPointTable.selectById(WRITE_USER_ID).point()).isEqualTo(10_000L + chargeCount * 1_000L - useCount * 100L);
+        assertThat(virtualThreads).containsExactly(true);
+    }
+
+    private CompletableFuture<HttpResponse<String>> patch(HttpClient client, String action, long amount) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + WRITE_USER_ID + "/" + action))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+            .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
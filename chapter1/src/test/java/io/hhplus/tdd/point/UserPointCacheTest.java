@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPointCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserPointCache userPointCache(boolean enabled) {
+        return new UserPointCache(
+            new PointProperties(
+                new PointProperties.Combining(false),
+                new PointProperties.Cache(enabled, 100L, Duration.ofMinutes(1)),
+                new PointProperties.History(10000),
+                new PointProperties.IoExecutor(8, 100)
+            ),
+            meterRegistry
+        );
+    }
+
+    @Test
+    void 미스일때만_로딩하고_이후에는_캐시에서_반환한다() {
+        // given
+        UserPointCache userPointCache = userPointCache(true);
+        UserPoint userPoint = new UserPointFixture().create();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        UserPoint first = userPointCache.get(userPoint.id(), id -> {
+            loadCount.incrementAndGet();
+            return userPoint;
+        });
+        UserPoint second = userPointCache.get(userPoint.id(), id -> {
+            loadCount.incrementAndGet();
+            return userPoint;
+        });
+
+        // then
+        assertThat(first).isEqualTo(userPoint);
+        assertThat(second).isEqualTo(userPoint);
+        assertThat(loadCount).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userPoint").tag("result", "hit").functionCounter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userPoint").tag("result", "miss").functionCounter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void 저장된_값은_테이블을_조회하지_않고_반환한다() {
+        // given
+        UserPointCache userPointCache = userPointCache(true);
+        UserPoint saved = new UserPointFixture().setPoint(500L).create();
+
+        // when
+        userPointCache.put(saved);
+        UserPoint result = userPointCache.get(saved.id(), id -> {
+            throw new AssertionError("테이블을 조회하면 안 됩니다.");
+        });
+
+        // then
+        assertThat(result).isEqualTo(saved);
+    }
+
+    @Test
+    void 캐시를_끄면_매번_로딩한다() {
+        // given
+        UserPointCache userPointCache = userPointCache(false);
+        UserPoint userPoint = new UserPointFixture().create();
+        AtomicInteger loadCount = new AtomicInteger();
+        userPointCache.put(userPoint);
+
+        // when
+        userPointCache.get(userPoint.id(), id -> {
+            loadCount.incrementAndGet();
+            return userPoint;
+        });
+        userPointCache.get(userPoint.id(), id -> {
+            loadCount.incrementAndGet();
+            return userPoint;
+        });
+
+        // then
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void 적재된_값만_바로_반환한다() {
+        // given
+        UserPointCache userPointCache = userPointCache(true);
+        UserPoint saved = new UserPointFixture().create();
+
+        // when
+        UserPoint before = userPointCache.getIfPresent(saved.id());
+        userPointCache.put(saved);
+        UserPoint after = userPointCache.getIfPresent(saved.id());
+
+        // then
+        assertThat(before).isNull();
+        assertThat(after).isEqualTo(saved);
+        assertThat(userPointCache(false).getIfPresent(saved.id())).isNull();
+    }
+}